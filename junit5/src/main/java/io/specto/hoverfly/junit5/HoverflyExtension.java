@@ -1,5 +1,6 @@
 package io.specto.hoverfly.junit5;
 
+import io.specto.hoverfly.junit.api.AsyncHoverflyClient;
 import io.specto.hoverfly.junit.core.Hoverfly;
 import io.specto.hoverfly.junit.core.HoverflyMode;
 import io.specto.hoverfly.junit.core.SimulationSource;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.*;
 import java.lang.reflect.AnnotatedElement;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 import static io.specto.hoverfly.junit.core.HoverflyMode.SIMULATE;
 import static io.specto.hoverfly.junit5.HoverflyExtensionUtils.*;
@@ -48,12 +50,12 @@ public class HoverflyExtension implements AfterEachCallback, BeforeEachCallback,
     @Override
     public void beforeEach(ExtensionContext context) {
         if (isRunning()) {
-            hoverfly.resetJournal();
-            // Reset to per-class global configuration
-            hoverfly.resetMode(mode);
+            // Reset to per-class global configuration, while the simulation is being imported
+            CompletableFuture<Void> reset = CompletableFuture.allOf(hoverfly.resetJournalAsync(), hoverfly.resetModeAsync(mode));
             if (mode.allowSimulationImport()) {
                 hoverfly.simulate(source);
             }
+            AsyncHoverflyClient.join(reset);
         }
         if (hoverfly.getHoverflyConfig().isIncrementalCapture() && capturePath != null && Files.isReadable(capturePath)) {
             hoverfly.simulate(SimulationSource.file(capturePath));
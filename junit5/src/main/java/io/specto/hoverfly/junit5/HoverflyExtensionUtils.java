@@ -52,6 +52,15 @@ class HoverflyExtensionUtils {
                 if (config.commands().length > 0) {
                     ((LocalHoverflyConfig) configs).addCommands(config.commands());
                 }
+                if (config.shareProcess()) {
+                    ((LocalHoverflyConfig) configs).shareProcess();
+                }
+                if (config.daemon()) {
+                    ((LocalHoverflyConfig) configs).asDaemon();
+                }
+                if (config.incrementalSimulation()) {
+                    ((LocalHoverflyConfig) configs).enableIncrementalSimulation();
+                }
             }
             setCommonHoverflyConfig(configs, config);
             return configs;
@@ -136,6 +136,21 @@ public @interface HoverflyConfig {
      */
     String binaryLocation() default "";
 
+    /**
+     * Share the Hoverfly process with other test classes that have an equivalent configuration {@link LocalHoverflyConfig#shareProcess()}
+     */
+    boolean shareProcess() default false;
+
+    /**
+     * Run Hoverfly as a daemon that is reused by later test runs {@link LocalHoverflyConfig#asDaemon()}
+     */
+    boolean daemon() default false;
+
+    /**
+     * Only upload the pairs which a simulation adds to the one imported before it {@link LocalHoverflyConfig#enableIncrementalSimulation()}
+     */
+    boolean incrementalSimulation() default false;
+
     /**
      * By default Hoverfly exports the captured requests and responses to a new file by replacing any existing one. Enable this
      * option to import any existing simulation file and append new requests to it in capture mode.
@@ -0,0 +1,110 @@
+package io.specto.hoverfly.junit.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.specto.hoverfly.junit.api.command.SortParams;
+import io.specto.hoverfly.junit.api.model.ModeArguments;
+import io.specto.hoverfly.junit.api.view.DiffView;
+import io.specto.hoverfly.junit.api.view.HoverflyInfoView;
+import io.specto.hoverfly.junit.api.view.StateView;
+import io.specto.hoverfly.junit.core.HoverflyMode;
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking http client for querying Hoverfly admin endpoints, see {@link HoverflyClient#async()}. Every call is sent
+ * in the background and returns a future, so independent calls can be in flight at the same time. A future fails with a
+ * {@link HoverflyClientException} when the call fails.
+ */
+public interface AsyncHoverflyClient {
+
+    /**
+     * Set the given simulation data, overwriting any existing one.
+     * @param simulation Hoverfly simulation data to set
+     * @return a future completed when the simulation is set
+     */
+    CompletableFuture<Void> setSimulation(Simulation simulation);
+
+    CompletableFuture<Void> setSimulation(String simulation);
+
+    /**
+     * Append the given simulation to the existing one in Hoverfly, duplicated pair will not be added
+     * @param simulation Hoverfly simulation data to append
+     * @return a future completed when the simulation is added
+     */
+    CompletableFuture<Void> addSimulation(Simulation simulation);
+
+    CompletableFuture<Simulation> getSimulation();
+
+    CompletableFuture<JsonNode> getSimulationJson();
+
+    CompletableFuture<Void> deleteSimulation();
+
+    CompletableFuture<Journal> getJournal(int offset, int limit);
+
+    CompletableFuture<Journal> getJournal(int offset, int limit, SortParams sortParams);
+
+    CompletableFuture<Journal> searchJournal(Request request);
+
+    CompletableFuture<Void> deleteJournal();
+
+    CompletableFuture<Void> deleteState();
+
+    CompletableFuture<StateView> getState();
+
+    CompletableFuture<Void> setState(StateView stateView);
+
+    CompletableFuture<Void> updateState(StateView stateView);
+
+    CompletableFuture<DiffView> getDiffs();
+
+    CompletableFuture<Void> cleanDiffs();
+
+    CompletableFuture<HoverflyInfoView> getConfigInfo();
+
+    CompletableFuture<Void> setDestination(String destination);
+
+    /**
+     * Update Hoverfly mode
+     * @param mode {@link HoverflyMode}
+     * @return a future completed when the mode is updated
+     */
+    CompletableFuture<Void> setMode(HoverflyMode mode);
+
+    /**
+     * Update Hoverfly mode with additional arguments
+     * @param mode {@link HoverflyMode}
+     * @param modeArguments additional arguments such as headers to capture
+     * @return a future completed when the mode is updated
+     */
+    CompletableFuture<Void> setMode(HoverflyMode mode, ModeArguments modeArguments);
+
+    /**
+     * Check Hoverfly is healthy
+     * @return a future of the status of Hoverfly, which never fails
+     */
+    CompletableFuture<Boolean> getHealth();
+
+    /**
+     * Waits for a call to complete, and rethrows the {@link HoverflyClientException} or other exception it has failed
+     * with, rather than the {@link CompletionException} that wraps it
+     * @param future the future returned by a call
+     * @param <T> the result type of the call
+     * @return the result of the call
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.specto.hoverfly.junit.api;
+
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * A request body that compresses another one with gzip as it is written, to be sent with {@code Content-Encoding: gzip}
+ */
+class GzipRequestBody extends RequestBody {
+
+    private final RequestBody delegate;
+
+    GzipRequestBody(RequestBody delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return delegate.isOneShot();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+        delegate.writeTo(gzipSink);
+        // Writes the gzip trailer
+        gzipSink.close();
+    }
+}
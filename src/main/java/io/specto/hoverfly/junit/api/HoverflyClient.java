@@ -10,8 +10,21 @@ import io.specto.hoverfly.junit.api.view.StateView;
 import io.specto.hoverfly.junit.core.HoverflyConstants;
 import io.specto.hoverfly.junit.core.HoverflyMode;
 import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
 import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestResponsePair;
 import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import okhttp3.OkHttpClient;
 
 /**
@@ -28,6 +41,24 @@ public interface HoverflyClient {
 
     void setSimulation(String simulation);
 
+    /**
+     * Set the simulation data read from the given stream, overwriting any existing one. The stream is not closed.
+     * @param simulation Hoverfly simulation data encoded in UTF-8
+     */
+    default void setSimulation(InputStream simulation) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = simulation.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            setSimulation(out.toString(StandardCharsets.UTF_8.name()));
+        } catch (IOException e) {
+            throw new HoverflyClientException("Failed to set simulation: " + e.getMessage());
+        }
+    }
+
     /**
      * Append the given simulation to the existing one in Hoverfly, duplicated pair will not be added
      * @param simulation Hoverfly simulation data to append
@@ -36,6 +67,16 @@ public interface HoverflyClient {
 
     Simulation getSimulation();
 
+    /**
+     * Get the request matchers of the simulation pairs, without their responses
+     * @return the request matchers, in the order of the simulation pairs
+     */
+    default List<Request> getSimulationRequests() {
+        return getSimulation().getHoverflyData().getPairs().stream()
+                .map(RequestResponsePair::getRequest)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get the simulation from Hoverfly as {@link JsonNode}
      * @return simulation data as {@link JsonNode}
@@ -48,8 +89,45 @@ public interface HoverflyClient {
 
     Journal getJournal(int offset, int limit, SortParams sortParams);
 
+    /**
+     * Streams the journal, fetching one page at a time as the stream is consumed, so that only one page is held in memory
+     * @param pageSize the number of entries to fetch at a time
+     * @return the journal entries, in the order they were recorded
+     */
+    default Stream<JournalEntry> streamJournal(int pageSize) {
+        return streamJournal(pageSize, null, false);
+    }
+
+    /**
+     * Streams the journal, fetching one page at a time as the stream is consumed. With prefetch, the next page is fetched
+     * in the background while the current one is consumed, which holds up to two pages in memory. The stream should be
+     * closed if it is not consumed entirely, to cancel the page being prefetched.
+     * @param pageSize the number of entries to fetch at a time
+     * @param sortParams the order of the entries, or null for the order they were recorded
+     * @param prefetch whether to fetch the next page in the background, if this client has an {@link #async()} view
+     * @return the journal entries
+     */
+    default Stream<JournalEntry> streamJournal(int pageSize, SortParams sortParams, boolean prefetch) {
+        JournalPageIterator iterator = new JournalPageIterator(this, prefetch ? async().orElse(null) : null, pageSize, sortParams);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
     Journal searchJournal(Request request);
 
+    /**
+     * Counts the journal entries matching the given request, without deserializing them
+     * @param request the request matcher
+     * @return the number of matching entries
+     */
+    default int countJournal(Request request) {
+        Journal journal = searchJournal(request);
+        if (journal.getEntries() == null) {
+            throw new HoverflyClientException("Failed to search journal: journal has no entries");
+        }
+        return journal.getEntries().size();
+    }
+
     void deleteJournal();
 
     /**
@@ -105,6 +183,14 @@ public interface HoverflyClient {
      */
     boolean getHealth();
 
+    /**
+     * Gets the non-blocking view of this client, which shares its connections
+     * @return the {@link AsyncHoverflyClient}, or empty if this client only supports blocking calls
+     */
+    default Optional<AsyncHoverflyClient> async() {
+        return Optional.empty();
+    }
+
     /**
      * Static factory method for creating a {@link Builder}
      * @return a builder for HoverflyClient
@@ -131,6 +217,7 @@ public interface HoverflyClient {
         private int port = HoverflyConstants.DEFAULT_ADMIN_PORT;
         private String authToken = null;
         private OkHttpClient client = null;
+        private boolean gzipEnabled = false;
 
         Builder() {
         }
@@ -164,12 +251,22 @@ public interface HoverflyClient {
             return this;
         }
 
+        /**
+         * Compress simulations sent to Hoverfly with gzip. If Hoverfly rejects the first compressed simulation, it is
+         * sent again without compression, and so are the following ones. Responses are always accepted with gzip.
+         * @return this Builder for further customizations
+         */
+        public Builder withGzipCompression() {
+            this.gzipEnabled = true;
+            return this;
+        }
+
         public HoverflyClient build() {
             if (client == null) {
-                return new OkHttpHoverflyClient(scheme, host, port, authToken);
+                return new OkHttpHoverflyClient(scheme, host, port, authToken, gzipEnabled);
             }
 
-            return new OkHttpHoverflyClient(scheme, host, port, client);
+            return new OkHttpHoverflyClient(scheme, host, port, client, gzipEnabled);
         }
     }
 
@@ -0,0 +1,37 @@
+package io.specto.hoverfly.junit.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+
+/**
+ * A request body that copies JSON from a stream into the connection. The stream can only be read once, so OkHttp does
+ * not retry requests with this body.
+ */
+class InputStreamRequestBody extends RequestBody {
+
+    private final InputStream inputStream;
+
+    InputStreamRequestBody(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JsonRequestBody.JSON;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return true;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        // The stream belongs to the caller, so the source wrapping it is not closed
+        sink.writeAll(Okio.source(inputStream));
+    }
+}
@@ -0,0 +1,75 @@
+package io.specto.hoverfly.junit.api;
+
+import io.specto.hoverfly.junit.api.command.SortParams;
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Iterates over the journal one page at a time, fetching a page only once the previous one has been consumed. With a
+ * prefetch client, the next page is fetched in the background while the current one is consumed.
+ */
+class JournalPageIterator implements Iterator<JournalEntry>, AutoCloseable {
+
+    private final HoverflyClient client;
+    private final AsyncHoverflyClient prefetchClient;
+    private final int pageSize;
+    private final SortParams sortParams;
+
+    private Iterator<JournalEntry> page = Collections.emptyIterator();
+    private int nextOffset;
+    private boolean lastPage;
+    private CompletableFuture<Journal> nextPage;
+
+    JournalPageIterator(HoverflyClient client, AsyncHoverflyClient prefetchClient, int pageSize, SortParams sortParams) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Journal page size must be at least 1.");
+        }
+        this.client = client;
+        this.prefetchClient = prefetchClient;
+        this.pageSize = pageSize;
+        this.sortParams = sortParams;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !lastPage) {
+            fetchNextPage();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public JournalEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+    }
+
+    private void fetchNextPage() {
+        Journal journal = nextPage != null ? AsyncHoverflyClient.join(nextPage) : client.getJournal(nextOffset, pageSize, sortParams);
+        nextPage = null;
+
+        List<JournalEntry> entries = journal.getEntries() != null ? journal.getEntries() : Collections.emptyList();
+        nextOffset += entries.size();
+        lastPage = entries.isEmpty() || nextOffset >= journal.getTotal();
+        page = entries.iterator();
+
+        if (!lastPage && prefetchClient != null) {
+            nextPage = prefetchClient.getJournal(nextOffset, pageSize, sortParams);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.specto.hoverfly.junit.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * A request body that serializes an object to JSON directly into the connection, instead of building the whole document
+ * in memory first. The object is serialized again if OkHttp retries the request.
+ */
+class JsonRequestBody extends RequestBody {
+
+    static final MediaType JSON = MediaType.parse("application/json");
+
+    // The sink belongs to OkHttp, so Jackson must not close it
+    private static final ObjectWriter WRITER = ObjectMapperFactory.getDefaultObjectMapper().writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final Object data;
+
+    JsonRequestBody(Object data) {
+        this.data = data;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        WRITER.writeValue(sink.outputStream(), data);
+    }
+}
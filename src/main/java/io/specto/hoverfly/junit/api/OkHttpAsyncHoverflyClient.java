@@ -0,0 +1,270 @@
+package io.specto.hoverfly.junit.api;
+
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.DESTINATION_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.DIFF_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.HEALTH_CHECK_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.INFO_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.JOURNAL_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.MODE_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.SIMULATION_PATH;
+import static io.specto.hoverfly.junit.api.OkHttpHoverflyClient.STATE_PATH;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.specto.hoverfly.junit.api.command.DestinationCommand;
+import io.specto.hoverfly.junit.api.command.JournalSearchCommand;
+import io.specto.hoverfly.junit.api.command.ModeCommand;
+import io.specto.hoverfly.junit.api.command.SortParams;
+import io.specto.hoverfly.junit.api.model.ModeArguments;
+import io.specto.hoverfly.junit.api.view.DiffView;
+import io.specto.hoverfly.junit.api.view.HoverflyInfoView;
+import io.specto.hoverfly.junit.api.view.StateView;
+import io.specto.hoverfly.junit.core.HoverflyMode;
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AsyncHoverflyClient} that enqueues the calls on the dispatcher of the {@link OkHttpClient} of an
+ * {@link OkHttpHoverflyClient}
+ */
+class OkHttpAsyncHoverflyClient implements AsyncHoverflyClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyClient.class);
+
+    private final OkHttpHoverflyClient hoverflyClient;
+    private final OkHttpClient client;
+
+    OkHttpAsyncHoverflyClient(OkHttpHoverflyClient hoverflyClient, OkHttpClient client) {
+        this.hoverflyClient = hoverflyClient;
+        this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<Void> setSimulation(Simulation simulation) {
+        return uploadSimulation(() -> hoverflyClient.setSimulation(simulation),
+                "PUT", () -> hoverflyClient.createRequestBody(simulation), "Failed to set simulation");
+    }
+
+    @Override
+    public CompletableFuture<Void> setSimulation(String simulation) {
+        return uploadSimulation(() -> hoverflyClient.setSimulation(simulation),
+                "PUT", () -> RequestBody.create(simulation, JsonRequestBody.JSON), "Failed to set simulation");
+    }
+
+    @Override
+    public CompletableFuture<Void> addSimulation(Simulation simulation) {
+        return uploadSimulation(() -> hoverflyClient.addSimulation(simulation),
+                "POST", () -> hoverflyClient.createRequestBody(simulation), "Failed to add simulation");
+    }
+
+    @Override
+    public CompletableFuture<Simulation> getSimulation() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(SIMULATION_PATH).get().build();
+        return enqueue(request, "Failed to get simulation", Simulation.class);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> getSimulationJson() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(SIMULATION_PATH).get().build();
+        return enqueue(request, "Failed to get simulation",
+                response -> ObjectMapperFactory.getDefaultObjectMapper().readTree(response.body().byteStream()));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSimulation() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(SIMULATION_PATH).delete().build();
+        return enqueue(request, "Failed to delete simulation");
+    }
+
+    @Override
+    public CompletableFuture<Journal> getJournal(int offset, int limit) {
+        return getJournal(offset, limit, null);
+    }
+
+    @Override
+    public CompletableFuture<Journal> getJournal(int offset, int limit, SortParams sortParams) {
+        final Request request = new Request.Builder().url(hoverflyClient.createJournalUrl(offset, limit, sortParams)).get().build();
+        return enqueue(request, "Failed to get journal", Journal.class);
+    }
+
+    @Override
+    public CompletableFuture<Journal> searchJournal(io.specto.hoverfly.junit.core.model.Request requestMatcher) {
+        final RequestBody body = hoverflyClient.createRequestBody(new JournalSearchCommand(requestMatcher));
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(JOURNAL_PATH).post(body).build();
+        return enqueue(request, "Failed to search journal", Journal.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteJournal() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(JOURNAL_PATH).delete().build();
+        return enqueue(request, "Failed to delete journal");
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteState() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(STATE_PATH).delete().build();
+        return enqueue(request, "Failed to delete states");
+    }
+
+    @Override
+    public CompletableFuture<StateView> getState() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(STATE_PATH).get().build();
+        return enqueue(request, "Failed to get state", StateView.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> setState(StateView stateView) {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(STATE_PATH)
+                .put(hoverflyClient.createRequestBody(stateView))
+                .build();
+        return enqueue(request, "Failed to set states");
+    }
+
+    @Override
+    public CompletableFuture<Void> updateState(StateView stateView) {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(STATE_PATH)
+                .patch(hoverflyClient.createRequestBody(stateView))
+                .build();
+        return enqueue(request, "Failed to update states");
+    }
+
+    @Override
+    public CompletableFuture<DiffView> getDiffs() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(DIFF_PATH).get().build();
+        return enqueue(request, "Failed to get diffs", DiffView.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> cleanDiffs() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(DIFF_PATH).delete().build();
+        return enqueue(request, "Failed to delete diffs");
+    }
+
+    @Override
+    public CompletableFuture<HoverflyInfoView> getConfigInfo() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(INFO_PATH).get().build();
+        return enqueue(request, "Failed to get config information", HoverflyInfoView.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> setDestination(String destination) {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(DESTINATION_PATH)
+                .put(hoverflyClient.createRequestBody(new DestinationCommand(destination)))
+                .build();
+        return enqueue(request, "Failed to set destination");
+    }
+
+    @Override
+    public CompletableFuture<Void> setMode(HoverflyMode mode) {
+        return putModeRequest(new ModeCommand(mode));
+    }
+
+    @Override
+    public CompletableFuture<Void> setMode(HoverflyMode mode, ModeArguments modeArguments) {
+        return putModeRequest(new ModeCommand(mode, modeArguments));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> getHealth() {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(HEALTH_CHECK_PATH).get().build();
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        enqueue(request, future, response -> true, e -> {
+            LOGGER.debug("Hoverfly healthcheck failed: " + e.getMessage());
+            future.complete(false);
+        });
+        return future;
+    }
+
+    private CompletableFuture<Void> putModeRequest(ModeCommand modeCommand) {
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(MODE_PATH)
+                .put(hoverflyClient.createRequestBody(modeCommand))
+                .build();
+        return enqueue(request, "Failed to set mode");
+    }
+
+    // Uploads that may have to fall back from gzip are sent by the blocking client on the dispatcher threads, as they can
+    // take two round-trips
+    private CompletableFuture<Void> uploadSimulation(Runnable blockingUpload, String method, Supplier<RequestBody> body,
+                                                     String failureMessage) {
+        if (hoverflyClient.isGzipEnabled()) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            client.dispatcher().executorService().execute(() -> {
+                try {
+                    blockingUpload.run();
+                    future.complete(null);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+        final Request request = hoverflyClient.createRequestBuilderWithUrl(SIMULATION_PATH).method(method, body.get()).build();
+        return enqueue(request, failureMessage);
+    }
+
+    // Completes on success
+    private CompletableFuture<Void> enqueue(Request request, String failureMessage) {
+        return enqueue(request, failureMessage, response -> null);
+    }
+
+    // Deserialize response body on success
+    private <T> CompletableFuture<T> enqueue(Request request, String failureMessage, Class<T> clazz) {
+        return enqueue(request, failureMessage, response -> OkHttpHoverflyClient.readerFor(clazz).readValue(response.body().byteStream()));
+    }
+
+    private <T> CompletableFuture<T> enqueue(Request request, String failureMessage, ResponseHandler<T> responseHandler) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        enqueue(request, future, responseHandler, e -> {
+            LOGGER.warn("{}: {}", failureMessage, e.getMessage());
+            future.completeExceptionally(new HoverflyClientException(failureMessage + ": " + e.getMessage()));
+        });
+        return future;
+    }
+
+    private <T> void enqueue(Request request, CompletableFuture<T> future, ResponseHandler<T> responseHandler,
+                             FailureHandler failureHandler) {
+        final Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failureHandler.handle(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try {
+                    hoverflyClient.onFailure(response);
+                    future.complete(responseHandler.handle(response));
+                } catch (Exception e) {
+                    failureHandler.handle(e);
+                } finally {
+                    response.close();
+                }
+            }
+        });
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private interface FailureHandler {
+        void handle(Exception e);
+    }
+}
@@ -2,10 +2,18 @@ package io.specto.hoverfly.junit.api;
 
 import io.specto.hoverfly.junit.core.ObjectMapperFactory;
 import java.io.IOException;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.specto.hoverfly.junit.api.command.DestinationCommand;
 import io.specto.hoverfly.junit.api.command.JournalSearchCommand;
@@ -19,7 +27,6 @@ import io.specto.hoverfly.junit.core.HoverflyMode;
 import io.specto.hoverfly.junit.core.model.Journal;
 import io.specto.hoverfly.junit.core.model.Simulation;
 import okhttp3.HttpUrl;
-import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -31,22 +38,34 @@ class OkHttpHoverflyClient implements HoverflyClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyClient.class);
 
-    private static final String HEALTH_CHECK_PATH = "api/health";
-    private static final String SIMULATION_PATH = "api/v2/simulation";
-    private static final String INFO_PATH = "api/v2/hoverfly";
-    private static final String DESTINATION_PATH = "api/v2/hoverfly/destination";
-    private static final String MODE_PATH = "api/v2/hoverfly/mode";
-    private static final String JOURNAL_PATH = "api/v2/journal";
-    private static final String STATE_PATH = "api/v2/state";
-    private static final String DIFF_PATH = "api/v2/diff";
+    static final String HEALTH_CHECK_PATH = "api/health";
+    static final String SIMULATION_PATH = "api/v2/simulation";
+    static final String INFO_PATH = "api/v2/hoverfly";
+    static final String DESTINATION_PATH = "api/v2/hoverfly/destination";
+    static final String MODE_PATH = "api/v2/hoverfly/mode";
+    static final String JOURNAL_PATH = "api/v2/journal";
+    static final String STATE_PATH = "api/v2/state";
+    static final String DIFF_PATH = "api/v2/diff";
 
-    private static final MediaType JSON = MediaType.parse("application/json");
+    // Readers are immutable and cache their deserializers, so they are shared by every client
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
 
     private final OkHttpClient client;
 
     private final HttpUrl baseUrl;
 
+    private final boolean gzipEnabled;
+
+    // Whether Hoverfly has accepted a gzip compressed simulation, or null until one has been sent
+    private volatile Boolean gzipAccepted;
+
+    private final AsyncHoverflyClient asyncClient;
+
     OkHttpHoverflyClient(String scheme, String host, int port, String authToken) {
+        this(scheme, host, port, authToken, false);
+    }
+
+    OkHttpHoverflyClient(String scheme, String host, int port, String authToken, boolean gzipEnabled) {
         OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
         if (authToken != null) {
             clientBuilder.addInterceptor(new AuthHeaderInterceptor(authToken));
@@ -57,24 +76,29 @@ class OkHttpHoverflyClient implements HoverflyClient {
                 .host(host)
                 .port(port)
                 .build();
+        this.gzipEnabled = gzipEnabled;
+        this.asyncClient = new OkHttpAsyncHoverflyClient(this, this.client);
     }
 
     OkHttpHoverflyClient(String scheme, String host, int port, OkHttpClient client) {
+        this(scheme, host, port, client, false);
+    }
+
+    OkHttpHoverflyClient(String scheme, String host, int port, OkHttpClient client, boolean gzipEnabled) {
         this.client = client;
         this.baseUrl = new HttpUrl.Builder()
                 .scheme(scheme)
                 .host(host)
                 .port(port)
                 .build();
+        this.gzipEnabled = gzipEnabled;
+        this.asyncClient = new OkHttpAsyncHoverflyClient(this, this.client);
     }
 
     @Override
     public void setSimulation(Simulation simulation) {
         try {
-            final Request.Builder builder = createRequestBuilderWithUrl(SIMULATION_PATH);
-            final RequestBody body = createRequestBody(simulation);
-            final Request request = builder.put(body).build();
-            exchange(request);
+            exchangeSimulation("PUT", createRequestBody(simulation));
         } catch (Exception e) {
             LOGGER.warn("Failed to set simulation: {}", e.getMessage());
             throw new HoverflyClientException("Failed to set simulation: " + e.getMessage());
@@ -84,10 +108,17 @@ class OkHttpHoverflyClient implements HoverflyClient {
     @Override
     public void setSimulation(String simulation) {
         try {
-            final Request.Builder builder = createRequestBuilderWithUrl(SIMULATION_PATH);
-            final RequestBody body = RequestBody.create(JSON, simulation);
-            final Request request = builder.put(body).build();
-            exchange(request);
+            exchangeSimulation("PUT", RequestBody.create(simulation, JsonRequestBody.JSON));
+        } catch (Exception e) {
+            LOGGER.warn("Failed to set simulation: {}", e.getMessage());
+            throw new HoverflyClientException("Failed to set simulation: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void setSimulation(InputStream simulation) {
+        try {
+            exchangeSimulation("PUT", new InputStreamRequestBody(simulation));
         } catch (Exception e) {
             LOGGER.warn("Failed to set simulation: {}", e.getMessage());
             throw new HoverflyClientException("Failed to set simulation: " + e.getMessage());
@@ -97,10 +128,7 @@ class OkHttpHoverflyClient implements HoverflyClient {
     @Override
     public void addSimulation(Simulation simulation) {
         try {
-            final Request.Builder builder = createRequestBuilderWithUrl(SIMULATION_PATH);
-            final RequestBody body = createRequestBody(simulation);
-            final Request request = builder.post(body).build();
-            exchange(request);
+            exchangeSimulation("POST", createRequestBody(simulation));
         } catch (Exception e) {
             LOGGER.warn("Failed to add simulation: {}", e.getMessage());
             throw new HoverflyClientException("Failed to add simulation: " + e.getMessage());
@@ -119,6 +147,21 @@ class OkHttpHoverflyClient implements HoverflyClient {
         }
     }
 
+    @Override
+    public List<io.specto.hoverfly.junit.core.model.Request> getSimulationRequests() {
+        try {
+            final Request.Builder builder = createRequestBuilderWithUrl(SIMULATION_PATH);
+            final Request request = builder.get().build();
+            try (Response response = client.newCall(request).execute()) {
+                onFailure(response);
+                return readSimulationRequests(response.body().byteStream());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to get simulation: {}", e.getMessage());
+            throw new HoverflyClientException("Failed to get simulation: " + e.getMessage());
+        }
+    }
+
     @Override
     public JsonNode getSimulationJson() {
         try {
@@ -126,7 +169,7 @@ class OkHttpHoverflyClient implements HoverflyClient {
             final Request request = builder.get().build();
             try (Response response = client.newCall(request).execute()) {
                 onFailure(response);
-                return ObjectMapperFactory.getDefaultObjectMapper().readTree(response.body().string());
+                return ObjectMapperFactory.getDefaultObjectMapper().readTree(response.body().byteStream());
             }
         } catch (Exception e) {
             LOGGER.warn("Failed to get simulation: {}", e.getMessage());
@@ -169,6 +212,21 @@ class OkHttpHoverflyClient implements HoverflyClient {
         }
     }
 
+    @Override
+    public int countJournal(io.specto.hoverfly.junit.core.model.Request requestMatcher) {
+        try {
+            final Request.Builder builder = createRequestBuilderWithUrl(JOURNAL_PATH);
+            final RequestBody body = createRequestBody(new JournalSearchCommand(requestMatcher));
+            final Request request = builder.post(body).build();
+            try (Response response = client.newCall(request).execute()) {
+                onFailure(response);
+                return countJournalEntries(response.body().byteStream());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to search journal: {}", e.getMessage());
+            throw new HoverflyClientException("Failed to search journal: " + e.getMessage());
+        }
+    }
 
     @Override
     public void deleteJournal() {
@@ -306,18 +364,15 @@ class OkHttpHoverflyClient implements HoverflyClient {
         return isHealthy;
     }
 
+    @Override
+    public Optional<AsyncHoverflyClient> async() {
+        return Optional.of(asyncClient);
+    }
+
     private Journal getJournalInternal(int offset, int limit, SortParams sortParams) {
         try {
-            HttpUrl.Builder urlBuilder = baseUrl.newBuilder()
-                    .addPathSegments(JOURNAL_PATH)
-                    .addQueryParameter("offset", String.valueOf(offset))
-                    .addQueryParameter("limit", String.valueOf(limit));
-
-            if (sortParams != null) {
-                urlBuilder.addQueryParameter("sort", sortParams.toString());
-            }
             final Request.Builder builder = new Request.Builder()
-                    .url(urlBuilder.build());
+                    .url(createJournalUrl(offset, limit, sortParams));
             final Request request = builder.get().build();
             return exchange(request, Journal.class);
         } catch (Exception e) {
@@ -340,27 +395,75 @@ class OkHttpHoverflyClient implements HoverflyClient {
     }
 
     // Create request builder from Admin API path
-    private Request.Builder createRequestBuilderWithUrl(String path) {
+    Request.Builder createRequestBuilderWithUrl(String path) {
         return new Request.Builder()
                 .url(baseUrl.newBuilder().addPathSegments(path).build());
     }
 
+    // Create journal URL with paging and sorting parameters
+    HttpUrl createJournalUrl(int offset, int limit, SortParams sortParams) {
+        HttpUrl.Builder urlBuilder = baseUrl.newBuilder()
+                .addPathSegments(JOURNAL_PATH)
+                .addQueryParameter("offset", String.valueOf(offset))
+                .addQueryParameter("limit", String.valueOf(limit));
+
+        if (sortParams != null) {
+            urlBuilder.addQueryParameter("sort", sortParams.toString());
+        }
+        return urlBuilder.build();
+    }
+
+    boolean isGzipEnabled() {
+        return gzipEnabled;
+    }
 
-    // Convert object to JSON request body
-    private RequestBody createRequestBody(Object data) throws JsonProcessingException {
-        String content = ObjectMapperFactory.getDefaultObjectMapper().writeValueAsString(data);
-        return RequestBody.create(JSON, content);
+    // Convert object to JSON request body, which is streamed when the request is sent
+    RequestBody createRequestBody(Object data) {
+        return new JsonRequestBody(data);
     }
 
 
-    // Deserialize response body on success
+    // Send a simulation, compressed with gzip if enabled. Falls back to plain JSON if Hoverfly rejects the first compressed
+    // simulation, unless the body cannot be sent twice, in which case it is only compressed once gzip is known to work.
+    private void exchangeSimulation(String method, RequestBody body) throws IOException {
+        final Boolean accepted = gzipAccepted;
+        if (gzipEnabled && !Boolean.FALSE.equals(accepted) && (accepted != null || !body.isOneShot())) {
+            final Request gzipRequest = createRequestBuilderWithUrl(SIMULATION_PATH)
+                    .header("Content-Encoding", "gzip")
+                    .method(method, new GzipRequestBody(body))
+                    .build();
+            try (Response response = client.newCall(gzipRequest).execute()) {
+                if (response.isSuccessful()) {
+                    gzipAccepted = true;
+                    return;
+                }
+                if (accepted != null) {
+                    onFailure(response);
+                }
+                LOGGER.debug("Hoverfly has rejected gzip compressed simulation with status {}, retrying without compression", response.code());
+            }
+
+            exchange(createRequestBuilderWithUrl(SIMULATION_PATH).method(method, body).build());
+            LOGGER.info("Hoverfly does not accept gzip compressed simulations, sending them without compression");
+            gzipAccepted = false;
+            return;
+        }
+
+        exchange(createRequestBuilderWithUrl(SIMULATION_PATH).method(method, body).build());
+    }
+
+    // Deserialize response body on success, streaming it from the connection
     private <T> T exchange(Request request, Class<T> clazz) throws IOException {
         try (Response response = client.newCall(request).execute()) {
             onFailure(response);
-            return ObjectMapperFactory.getDefaultObjectMapper().readValue(response.body().string(), clazz);
+            return readerFor(clazz).readValue(response.body().byteStream());
         }
     }
 
+    static ObjectReader readerFor(Class<?> clazz) {
+        return READERS.computeIfAbsent(clazz, ObjectMapperFactory.getDefaultObjectMapper()::readerFor);
+    }
+
     // Does nothing on success
     private void exchange(Request request) throws IOException {
         try (Response response = client.newCall(request).execute()) {
@@ -368,8 +471,74 @@ class OkHttpHoverflyClient implements HoverflyClient {
         }
     }
 
+    // Read the request of each pair in data.pairs, skipping over the responses and anything else instead of deserializing it
+    static List<io.specto.hoverfly.junit.core.model.Request> readSimulationRequests(InputStream inputStream) throws IOException {
+        final ObjectReader requestReader = readerFor(io.specto.hoverfly.junit.core.model.Request.class);
+        final List<io.specto.hoverfly.junit.core.model.Request> requests = new ArrayList<>();
+        try (JsonParser parser = ObjectMapperFactory.getDefaultObjectMapper().getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected simulation format");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (!"data".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String dataField = parser.getCurrentName();
+                    final JsonToken dataValue = parser.nextToken();
+                    if (!"pairs".equals(dataField) || dataValue != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            final String pairField = parser.getCurrentName();
+                            parser.nextToken();
+                            if ("request".equals(pairField)) {
+                                requests.add(requestReader.readValue(parser));
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+
+    // Count the elements of the journal array, skipping over their content instead of deserializing it
+    static int countJournalEntries(InputStream inputStream) throws IOException {
+        try (JsonParser parser = ObjectMapperFactory.getDefaultObjectMapper().getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected journal format");
+            }
+            int count = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if ("journal".equals(field) && value == JsonToken.START_ARRAY) {
+                    count = 0;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        count++;
+                        parser.skipChildren();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (count < 0) {
+                throw new IOException("journal has no entries");
+            }
+            return count;
+        }
+    }
+
     // Handle non-successful response
-    private void onFailure(Response response) throws IOException {
+    void onFailure(Response response) throws IOException {
         if (!response.isSuccessful()) {
             String errorResponse = String.format("Unexpected response (code=%d, message=%s)", response.code(), response.body().string());
             throw new IOException(errorResponse);
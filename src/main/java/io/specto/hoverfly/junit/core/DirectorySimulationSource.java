@@ -0,0 +1,187 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyUtils.writeSimulationAsString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link SimulationSource} which merges the simulation files in a directory, or any of its subdirectories, whose path
+ * relative to the directory matches a glob. The files are merged in the order of their relative paths.
+ *
+ * The merged simulation is cached for the JVM, and only loaded again when files are added, removed or modified, or when
+ * the garbage collector needs the memory back.
+ */
+class DirectorySimulationSource implements SimulationSource {
+
+    private static final Map<String, SoftReference<LoadedSimulation>> CACHE = new ConcurrentHashMap<>();
+
+    // A jar has a single file system per JVM, which must not be closed while another thread is reading from it
+    private static final ConcurrentMap<String, Object> JAR_LOCKS = new ConcurrentHashMap<>();
+
+    private final String classpath;
+    private final Path directory;
+    private final String glob;
+
+    private DirectorySimulationSource(String classpath, Path directory, String glob) {
+        this.classpath = classpath;
+        this.directory = directory;
+        this.glob = Objects.requireNonNull(glob, "glob");
+    }
+
+    static DirectorySimulationSource directory(Path directory, String glob) {
+        return new DirectorySimulationSource(null, Objects.requireNonNull(directory, "directory"), glob);
+    }
+
+    static DirectorySimulationSource classpathDirectory(String classpath, String glob) {
+        return new DirectorySimulationSource(Objects.requireNonNull(classpath, "classpath"), null, glob);
+    }
+
+    @Override
+    public String getSimulation() {
+        if (directory != null) {
+            return load(directory);
+        }
+
+        final URI uri = findClasspathDirectory();
+        if (!"jar".equals(uri.getScheme())) {
+            return load(Paths.get(uri));
+        }
+        // The files have to be read before the file system of the jar is closed. A file system opened by someone else is
+        // left open for them.
+        synchronized (lockOf(uri)) {
+            try (FileSystem jar = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                return load(jar.provider().getPath(uri));
+            } catch (FileSystemAlreadyExistsException e) {
+                return load(Paths.get(uri));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot load classpath directory: '" + classpath + "'", e);
+            }
+        }
+    }
+
+    private static Object lockOf(URI uri) {
+        final String jarUri = uri.toString();
+        final int separator = jarUri.indexOf("!/");
+        return JAR_LOCKS.computeIfAbsent(separator < 0 ? jarUri : jarUri.substring(0, separator), key -> new Object());
+    }
+
+    private URI findClasspathDirectory() {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(classpath);
+        if (url == null) {
+            throw new IllegalArgumentException("Cannot load classpath directory: '" + classpath + "'");
+        }
+        try {
+            return url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Cannot load classpath directory: '" + classpath + "'", e);
+        }
+    }
+
+    private String load(Path directory) {
+        final List<FileVersion> files = findFiles(directory);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No simulation files matching '" + glob + "' in directory: '" + directory + "'");
+        }
+
+        final String key = directory.toUri() + "|" + glob;
+        final SoftReference<LoadedSimulation> cachedReference = CACHE.get(key);
+        final LoadedSimulation cached = cachedReference != null ? cachedReference.get() : null;
+        if (cached != null && cached.files.equals(files)) {
+            return cached.simulation;
+        }
+
+        final List<String> simulations = SimulationMerger.readAll(files.stream()
+                .map(file -> SimulationSource.file(directory.resolve(file.path)))
+                .collect(Collectors.toList()));
+        final String simulation = writeSimulationAsString(SimulationMerger.merge(simulations, false));
+        CACHE.put(key, new SoftReference<>(new LoadedSimulation(files, simulation)));
+        return simulation;
+    }
+
+    private List<FileVersion> findFiles(Path directory) {
+        final PathMatcher matcher = directory.getFileSystem().getPathMatcher("glob:" + glob);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(directory.relativize(file)))
+                    .map(file -> FileVersion.of(directory, file))
+                    .sorted(Comparator.comparing(file -> file.path))
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException("Cannot load directory: '" + directory + "'", e);
+        }
+    }
+
+    private static class LoadedSimulation {
+
+        private final List<FileVersion> files;
+        private final String simulation;
+
+        private LoadedSimulation(List<FileVersion> files, String simulation) {
+            this.files = files;
+            this.simulation = simulation;
+        }
+    }
+
+    /**
+     * A file as it was when it was loaded, which has changed if its modification time or size has changed
+     */
+    private static class FileVersion {
+
+        private final String path;
+        private final long lastModified;
+        private final long size;
+
+        private FileVersion(String path, long lastModified, long size) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private static FileVersion of(Path directory, Path file) {
+            try {
+                return new FileVersion(directory.relativize(file).toString(), Files.getLastModifiedTime(file).toMillis(), Files.size(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileVersion that = (FileVersion) o;
+            return lastModified == that.lastModified && size == that.size && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, lastModified, size);
+        }
+    }
+}
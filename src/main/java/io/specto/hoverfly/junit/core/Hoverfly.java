@@ -16,47 +16,54 @@ import static io.specto.hoverfly.junit.core.HoverflyConfig.localConfigs;
 import static io.specto.hoverfly.junit.core.HoverflyMode.CAPTURE;
 import static io.specto.hoverfly.junit.core.HoverflyMode.DIFF;
 import static io.specto.hoverfly.junit.core.HoverflyUtils.checkPortInUse;
-import static io.specto.hoverfly.junit.core.HoverflyUtils.readSimulationFromString;
 import static io.specto.hoverfly.junit.dsl.matchers.HoverflyMatchers.any;
 import static io.specto.hoverfly.junit.verification.HoverflyVerifications.atLeastOnce;
 import static io.specto.hoverfly.junit.verification.HoverflyVerifications.never;
 import static io.specto.hoverfly.junit.verification.HoverflyVerifications.times;
 
+import io.specto.hoverfly.junit.api.AsyncHoverflyClient;
 import io.specto.hoverfly.junit.api.HoverflyClient;
 import io.specto.hoverfly.junit.api.HoverflyClientException;
 import io.specto.hoverfly.junit.api.model.ModeArguments;
 import io.specto.hoverfly.junit.api.view.DiffView;
 import io.specto.hoverfly.junit.api.view.HoverflyInfoView;
 import io.specto.hoverfly.junit.api.view.StateView;
+import io.specto.hoverfly.junit.core.HoverflyDaemons.DaemonLease;
+import io.specto.hoverfly.junit.core.HoverflyProcessRegistry.SharedProcess;
 import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
 import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
 import io.specto.hoverfly.junit.core.model.Request;
-import io.specto.hoverfly.junit.core.model.RequestResponsePair;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
 import io.specto.hoverfly.junit.core.model.Simulation;
 import io.specto.hoverfly.junit.dsl.RequestMatcherBuilder;
 import io.specto.hoverfly.junit.dsl.StubServiceBuilder;
 import io.specto.hoverfly.junit.verification.HoverflyDiffAssertionError;
+import io.specto.hoverfly.junit.verification.JournalSnapshot;
+import io.specto.hoverfly.junit.verification.LocalRequestMatcher;
 import io.specto.hoverfly.junit.verification.VerificationCriteria;
 import io.specto.hoverfly.junit.verification.VerificationData;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -71,17 +78,31 @@ public class Hoverfly implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Hoverfly.class);
     private static final int BOOT_TIMEOUT_SECONDS = 10;
-    private static final int RETRY_BACKOFF_INTERVAL_MS = 100;
+    private static final long INITIAL_HEALTH_CHECK_BACKOFF_MS = 10;
+    private static final long MAX_HEALTH_CHECK_BACKOFF_MS = 100;
+    private static final int MAX_PORT_IN_USE_RETRIES = 3;
+    private static final int VERIFICATION_JOURNAL_PAGE_SIZE = 500;
 
 
     private final HoverflyConfiguration hoverflyConfig;
     private final HoverflyMode hoverflyMode;
+    // The simulation last imported by this instance, or null if Hoverfly may hold a different one
+    private volatile SimulationFingerprint importedSimulation;
+    // The pairs of the simulation last imported by this instance, if only the pairs added to it are imported
+    private volatile SimulationPairs importedPairs;
+    private volatile boolean capturing;
     private final ProxyConfigurer proxyConfigurer;
     private final SslConfigurer sslConfigurer = new SslConfigurer();
-    private final HoverflyClient hoverflyClient;
+    private volatile boolean jvmConfigured = true;
+    // Assigned while starting on the executor threads, and read by close() and the shutdown hook on other threads
+    private volatile HoverflyClient hoverflyClient;
 
     private final TempFileManager tempFileManager = new TempFileManager();
-    private StartedProcess startedProcess;
+    private volatile StartedProcess startedProcess;
+    private volatile SharedProcess sharedProcess;
+    private volatile DaemonLease daemonLease;
+    private volatile CompletableFuture<Hoverfly> starting;
+    private StartupSignalOutputStream startupSignal;
 
     // Visible for testing
     Thread shutdownThread = null;
@@ -95,13 +116,9 @@ public class Hoverfly implements AutoCloseable {
     public Hoverfly(HoverflyConfig hoverflyConfigBuilder, HoverflyMode hoverflyMode) {
         hoverflyConfig = hoverflyConfigBuilder.build();
         this.proxyConfigurer = new ProxyConfigurer(hoverflyConfig);
-        this.hoverflyClient = HoverflyClient.custom()
-                .scheme(hoverflyConfig.getScheme())
-                .host(hoverflyConfig.getHost())
-                .port(hoverflyConfig.getAdminPort())
-                .withAuthToken()
-                .build();
+        this.hoverflyClient = createHoverflyClient(hoverflyConfig);
         this.hoverflyMode = hoverflyMode;
+        this.capturing = hoverflyMode == HoverflyMode.CAPTURE;
 
     }
 
@@ -122,31 +139,73 @@ public class Hoverfly implements AutoCloseable {
      * </ol>
      */
     public void start() {
+        HoverflyExecutors.join(startAsync());
+    }
+
+    /**
+     * Starts Hoverfly in the background, same as {@link #start()}. The steps which do not depend on each other, such as
+     * building the SSL context and booting the Hoverfly process, run concurrently.
+     *
+     * @return a future completed with this instance once Hoverfly is ready to use
+     */
+    public CompletableFuture<Hoverfly> startAsync() {
 
         // Register a shutdown hook to invoke Hoverfly cleanup
         shutdownThread = new Thread(this::close);
         Runtime.getRuntime().addShutdownHook(shutdownThread);
 
-        if (startedProcess != null) {
+        if (startedProcess != null || sharedProcess != null || daemonLease != null) {
             LOGGER.warn("Local Hoverfly is already running.");
-            return;
+            return CompletableFuture.completedFuture(this);
         }
 
-        if (!hoverflyConfig.isRemoteInstance()) {
-            startHoverflyProcess();
-        } else {
-            resetJournal();
-        }
+        final ExecutorService executor = HoverflyExecutors.executor();
+        final CompletableFuture<Void> sslContextPrepared = CompletableFuture.runAsync(this::prepareSslContext, executor);
+        final CompletableFuture<Void> hoverflyReady = CompletableFuture.runAsync(() -> {
+            if (hoverflyConfig.isRemoteInstance()) {
+                resetJournal();
+                waitForHoverflyToBecomeHealthy(null);
+            } else if (hoverflyConfig.isDaemon()) {
+                attachToDaemon();
+                waitForHoverflyToBecomeHealthy(null);
+            } else if (hoverflyConfig.isProcessShared()) {
+                attachToSharedProcess();
+                waitForHoverflyToBecomeHealthy(null);
+            } else {
+                startedProcess = startHealthyHoverflyProcess();
+            }
+
+            LOGGER.info("A {} Hoverfly with version {} is ready", hoverflyConfig.isRemoteInstance() ? "remote" : "local", hoverflyClient.getConfigInfo().getVersion());
 
-        waitForHoverflyToBecomeHealthy();
-        LOGGER.info("A {} Hoverfly with version {} is ready", hoverflyConfig.isRemoteInstance() ? "remote" : "local", hoverflyClient.getConfigInfo().getVersion());
+            setModeWithArguments(hoverflyMode, hoverflyConfig);
 
-        setModeWithArguments(hoverflyMode, hoverflyConfig);
+            if (StringUtils.isNotBlank(hoverflyConfig.getDestination())) {
+                setDestination(hoverflyConfig.getDestination());
+            }
+        }, executor);
+
+        starting = hoverflyReady
+                .thenCombine(sslContextPrepared, (ready, prepared) -> {
+                    if (jvmConfigured) {
+                        configureSslContext();
+                        proxyConfigurer.setProxySystemProperties();
+                    }
+                    return this;
+                });
+        return starting;
+    }
 
-        if (StringUtils.isNotBlank(hoverflyConfig.getDestination())) {
-            setDestination(hoverflyConfig.getDestination());
+    private void prepareSslContext() {
+        if (hoverflyConfig.getProxyCaCertificate().isPresent()) {
+            sslConfigurer.prepareDefaultSslContext(hoverflyConfig.getProxyCaCertificate().get());
+        } else if (StringUtils.isNotBlank(hoverflyConfig.getSslCertificatePath())) {
+            sslConfigurer.prepareDefaultSslContext(hoverflyConfig.getSslCertificatePath());
+        } else {
+            sslConfigurer.prepareDefaultSslContext();
         }
+    }
 
+    private void configureSslContext() {
         if (hoverflyConfig.getProxyCaCertificate().isPresent()) {
           sslConfigurer.setDefaultSslContext(hoverflyConfig.getProxyCaCertificate().get());
         } else if (StringUtils.isNotBlank(hoverflyConfig.getSslCertificatePath())) {
@@ -154,24 +213,108 @@ public class Hoverfly implements AutoCloseable {
         } else {
             sslConfigurer.setDefaultSslContext();
         }
+    }
 
-        proxyConfigurer.setProxySystemProperties();
+    /**
+     * Leaves the JVM wide proxy system properties and default SSL context to the caller, eg. a {@link HoverflyPool} which
+     * starts many instances concurrently
+     */
+    void disableJvmConfiguration() {
+        this.jvmConfigured = false;
     }
 
-    private void startHoverflyProcess() {
+    private static HoverflyClient createHoverflyClient(HoverflyConfiguration hoverflyConfig) {
+        HoverflyClient.Builder builder = HoverflyClient.custom()
+                .scheme(hoverflyConfig.getScheme())
+                .host(hoverflyConfig.getHost())
+                .port(hoverflyConfig.getAdminPort())
+                .withAuthToken();
+        if (hoverflyConfig.isGzipCompression()) {
+            builder.withGzipCompression();
+        }
+        return builder.build();
+    }
+
+    private void attachToSharedProcess() {
+        sharedProcess = HoverflyProcessRegistry.acquire(hoverflyConfig, tempFileManager, this::startHealthyHoverflyProcess);
+        usePorts(sharedProcess.getProxyPort(), sharedProcess.getAdminPort());
+    }
+
+    private void attachToDaemon() {
+        daemonLease = HoverflyDaemons.attach(hoverflyConfig, HoverflyBinaryCache.defaultCacheRoot(), this::prepareCommands);
+        usePorts(daemonLease.getProxyPort(), daemonLease.getAdminPort());
+    }
+
+    private void usePorts(int proxyPort, int adminPort) {
+        if (adminPort != hoverflyConfig.getAdminPort()) {
+            hoverflyConfig.setAdminPort(adminPort);
+            hoverflyClient = createHoverflyClient(hoverflyConfig);
+        }
+        hoverflyConfig.setProxyPort(proxyPort);
+    }
+
+    /**
+     * Starts the Hoverfly process and waits for it to become healthy. If one of the randomly assigned ports has been
+     * taken by another process in the meantime, Hoverfly is started again with new ports.
+     */
+    private StartedProcess startHealthyHoverflyProcess() {
+        for (int attempt = 1; ; attempt++) {
+            StartedProcess process = null;
+            try {
+                process = startHoverflyProcess();
+                waitForHoverflyToBecomeHealthy(process);
+                return process;
+            } catch (RuntimeException e) {
+                if (process != null) {
+                    destroyProcess(process);
+                }
+                boolean retryable = e instanceof PortInUseException
+                        && hoverflyConfig.isDynamicProxyPort() && hoverflyConfig.isDynamicAdminPort();
+                if (!retryable || attempt > MAX_PORT_IN_USE_RETRIES) {
+                    throw e;
+                }
+                LOGGER.warn("Hoverfly port is already in use, retrying with new ports (attempt {} of {}).", attempt, MAX_PORT_IN_USE_RETRIES);
+                hoverflyConfig.reassignDynamicPorts();
+                hoverflyClient = createHoverflyClient(hoverflyConfig);
+            }
+        }
+    }
+
+    private StartedProcess startHoverflyProcess() {
         checkPortInUse(hoverflyConfig.getProxyPort());
         checkPortInUse(hoverflyConfig.getAdminPort());
 
+        final List<String> commands = prepareCommands(tempFileManager);
+
+        startupSignal = new StartupSignalOutputStream(
+                hoverflyConfig.getHoverflyLogger().<OutputStream>map(LoggingOutputStream::new).orElse(System.out));
+        try {
+            return new ProcessExecutor()
+                    .command(commands)
+                    .redirectOutput(startupSignal)
+                    .directory(tempFileManager.getOrCreateTempDirectory().toFile())
+                    .start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start Hoverfly process", e);
+        }
+    }
+
+    /**
+     * Copies the binary and the files Hoverfly is configured with, and returns the command to start Hoverfly in the
+     * working directory of the given file manager
+     */
+    private List<String> prepareCommands(TempFileManager tempFileManager) {
         final SystemConfig systemConfig = new SystemConfigFactory(hoverflyConfig).createSystemConfig();
 
         if (hoverflyConfig.getBinaryLocation() != null) {
             tempFileManager.setBinaryLocation(hoverflyConfig.getBinaryLocation());
         }
-        Path binaryPath = tempFileManager.copyHoverflyBinary(systemConfig);
+        // The binary and the other resources are copied concurrently
+        final CompletableFuture<Path> binaryCopied = CompletableFuture.supplyAsync(
+                () -> tempFileManager.copyHoverflyBinary(systemConfig), HoverflyExecutors.executor());
+        final List<CompletableFuture<Path>> resourcesCopied = new ArrayList<>();
 
-        LOGGER.info("Executing binary at {}", binaryPath);
         final List<String> commands = new ArrayList<>();
-        commands.add(binaryPath.toString());
 
         if (!hoverflyConfig.getCommands().isEmpty()) {
             commands.addAll(hoverflyConfig.getCommands());
@@ -182,19 +325,19 @@ public class Hoverfly implements AutoCloseable {
         commands.add(String.valueOf(hoverflyConfig.getAdminPort()));
 
         if (StringUtils.isNotBlank(hoverflyConfig.getSslCertificatePath())) {
-            tempFileManager.copyClassPathResource(hoverflyConfig.getSslCertificatePath(), "ca.crt");
+            resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, hoverflyConfig.getSslCertificatePath(), "ca.crt"));
             commands.add("-cert");
             commands.add("ca.crt");
         }
         if (StringUtils.isNotBlank(hoverflyConfig.getSslKeyPath())) {
-            tempFileManager.copyClassPathResource(hoverflyConfig.getSslKeyPath(), "ca.key");
+            resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, hoverflyConfig.getSslKeyPath(), "ca.key"));
             commands.add("-key");
             commands.add("ca.key");
         }
 
         if (hoverflyConfig.isClientAuthEnabled()) {
-            tempFileManager.copyClassPathResource(hoverflyConfig.getClientCertPath(), "client-auth.crt");
-            tempFileManager.copyClassPathResource(hoverflyConfig.getClientKeyPath(), "client-auth.key");
+            resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, hoverflyConfig.getClientCertPath(), "client-auth.crt"));
+            resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, hoverflyConfig.getClientKeyPath(), "client-auth.key"));
             commands.add("-client-authentication-client-cert");
             commands.add("client-auth.crt");
 
@@ -205,7 +348,7 @@ public class Hoverfly implements AutoCloseable {
             commands.add(hoverflyConfig.getClientAuthDestination());
 
             if (StringUtils.isNotBlank(hoverflyConfig.getClientCaCertPath())) {
-                tempFileManager.copyClassPathResource(hoverflyConfig.getClientCaCertPath(), "client-ca.crt");
+                resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, hoverflyConfig.getClientCaCertPath(), "client-ca.crt"));
                 commands.add("-client-authentication-ca-cert");
                 commands.add("client-ca.crt");
             }
@@ -236,7 +379,7 @@ public class Hoverfly implements AutoCloseable {
         if (hoverflyConfig.isMiddlewareEnabled()) {
             final String path = hoverflyConfig.getLocalMiddleware().getPath();
             final String scriptName = path.contains(File.separator) ? path.substring(path.lastIndexOf(File.separator) + 1) : path;
-            tempFileManager.copyClassPathResource(path, scriptName);
+            resourcesCopied.add(copyClassPathResourceAsync(tempFileManager, path, scriptName));
             commands.add("-middleware");
             commands.add(hoverflyConfig.getLocalMiddleware().getBinary() + " " + scriptName);
         }
@@ -246,15 +389,16 @@ public class Hoverfly implements AutoCloseable {
             commands.add(hoverflyConfig.getUpstreamProxy());
         }
 
-        try {
-            startedProcess = new ProcessExecutor()
-                    .command(commands)
-                    .redirectOutput(hoverflyConfig.getHoverflyLogger().<OutputStream>map(LoggingOutputStream::new).orElse(System.out))
-                    .directory(tempFileManager.getTempDirectory().toFile())
-                    .start();
-        } catch (IOException e) {
-            throw new IllegalStateException("Could not start Hoverfly process", e);
-        }
+        resourcesCopied.forEach(HoverflyExecutors::join);
+        Path binaryPath = HoverflyExecutors.join(binaryCopied);
+        LOGGER.info("Executing binary at {}", binaryPath);
+        commands.add(0, binaryPath.toString());
+        return commands;
+    }
+
+    private static CompletableFuture<Path> copyClassPathResourceAsync(TempFileManager tempFileManager, String resourcePath, String targetName) {
+        return CompletableFuture.supplyAsync(
+                () -> tempFileManager.copyClassPathResource(resourcePath, targetName), HoverflyExecutors.executor());
     }
 
     /**
@@ -262,7 +406,25 @@ public class Hoverfly implements AutoCloseable {
      */
     @Override
     public void close() {
-        cleanUp();
+        HoverflyExecutors.join(closeAsync());
+    }
+
+    /**
+     * Stops the running {@link Hoverfly} process and restores the proxy system properties and the default SSL context
+     * straight away, but leaves waiting for the process to terminate and deleting the temporary files to a background
+     * thread. This avoids adding up the shutdown time of every instance when closing many of them. An instance that is
+     * still starting is closed once its start has ended.
+     *
+     * @return a future completed once the process has terminated and the temporary files have been deleted
+     */
+    public CompletableFuture<Void> closeAsync() {
+        final CompletableFuture<Hoverfly> start = starting;
+        if (start != null && !start.isDone()) {
+            // The process, shared process or daemon lease being acquired would be leaked by cleaning up before the start ends
+            LOGGER.info("Waiting for Hoverfly to finish starting before closing it");
+            return start.handle((hoverfly, e) -> null).thenCompose(ignored -> cleanUp());
+        }
+        return cleanUp();
     }
 
     /**
@@ -278,26 +440,49 @@ public class Hoverfly implements AutoCloseable {
 
 
     public void simulate(SimulationSource simulationSource, SimulationSource... sources) {
-        LOGGER.info("Importing simulation data to Hoverfly");
-
         Optional<SimulationPreprocessor> simulationPreprocessor = hoverflyConfig.getSimulationPreprocessor();
 
-        if (sources.length > 0 || simulationPreprocessor.isPresent()) {
-            final Simulation simulation = readSimulationFromString(simulationSource.getSimulation());
+        if (sources.length > 0 || simulationPreprocessor.isPresent() || isIncrementalSimulation()) {
+            final List<SimulationSource> allSources = new ArrayList<>(sources.length + 1);
+            allSources.add(simulationSource);
+            allSources.addAll(Arrays.asList(sources));
+            final List<String> simulations = SimulationMerger.readAll(allSources);
+            final SimulationFingerprint fingerprint = SimulationFingerprint.of(simulations, simulationPreprocessor.orElse(null));
+            if (isImported(fingerprint)) {
+                return;
+            }
 
-            Stream.of(sources).map(SimulationSource::getSimulation)
-                    .map(HoverflyUtils::readSimulationFromString)
-                    .forEach(s -> {
-                        simulation.getHoverflyData().getPairs().addAll(s.getHoverflyData().getPairs());
-                        simulation.getHoverflyData().getGlobalActions().getDelays().addAll(s.getHoverflyData().getGlobalActions().getDelays());
-                    });
+            LOGGER.info("Importing simulation data to Hoverfly");
+            final Simulation simulation = SimulationMerger.merge(simulations, simulationPreprocessor.isPresent());
 
             simulationPreprocessor.ifPresent(p -> p.accept(simulation));
 
-            hoverflyClient.setSimulation(simulation);
+            importSimulation(fingerprint, () -> importSimulation(simulation));
+        } else if (simulationSource instanceof StreamingSimulationSource) {
+            final StreamingSimulationSource streamingSource = (StreamingSimulationSource) simulationSource;
+            final SimulationFingerprint fingerprint = isSimulationTracked() ? fingerprint(streamingSource) : null;
+            if (isImported(fingerprint)) {
+                return;
+            }
+
+            LOGGER.info("Importing simulation data to Hoverfly");
+            // Stream the simulation to Hoverfly without loading it into memory
+            importSimulation(fingerprint, () -> {
+                try (InputStream simulation = streamingSource.openStream()) {
+                    hoverflyClient.setSimulation(simulation);
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to close simulation source: {}", e.getMessage());
+                }
+            });
         } else {
             final String simulation = simulationSource.getSimulation();
-            hoverflyClient.setSimulation(simulation);
+            final SimulationFingerprint fingerprint = SimulationFingerprint.of(Collections.singletonList(simulation), null);
+            if (isImported(fingerprint)) {
+                return;
+            }
+
+            LOGGER.info("Importing simulation data to Hoverfly");
+            importSimulation(fingerprint, () -> hoverflyClient.setSimulation(simulation));
         }
     }
 
@@ -305,10 +490,20 @@ public class Hoverfly implements AutoCloseable {
      * Delete existing simulations and journals
      */
     public void reset() {
-        hoverflyClient.deleteSimulation();
+        HoverflyExecutors.join(resetAsync());
+    }
 
-        resetJournal();
-        resetState();
+    /**
+     * Delete existing simulations and journals, sending the calls to Hoverfly concurrently
+     *
+     * @return a future completed when everything is deleted
+     */
+    public CompletableFuture<Void> resetAsync() {
+        forgetImportedSimulation();
+        return CompletableFuture.allOf(
+                call(AsyncHoverflyClient::deleteSimulation, HoverflyClient::deleteSimulation),
+                resetJournalAsync(),
+                resetStateAsync());
     }
 
 
@@ -316,22 +511,29 @@ public class Hoverfly implements AutoCloseable {
      * Delete journal logs
      */
     public void resetJournal() {
-        try {
-            hoverflyClient.deleteJournal();
-        } catch (HoverflyClientException e) {
-            LOGGER.warn("Older version of Hoverfly may not have a reset journal API", e);
-        }
+        HoverflyExecutors.join(resetJournalAsync());
+    }
+
+    /**
+     * Delete journal logs without waiting for Hoverfly
+     *
+     * @return a future completed when the journal is deleted
+     */
+    public CompletableFuture<Void> resetJournalAsync() {
+        return warnOnFailure(call(AsyncHoverflyClient::deleteJournal, HoverflyClient::deleteJournal),
+                "Older version of Hoverfly may not have a reset journal API");
     }
 
     /**
      * Deletes all state from Hoverfly
      */
     public void resetState() {
-        try {
-            hoverflyClient.deleteState();
-        } catch (HoverflyClientException e) {
-            LOGGER.warn("Older version of Hoverfly may not have a delete state API", e);
-        }
+        HoverflyExecutors.join(resetStateAsync());
+    }
+
+    private CompletableFuture<Void> resetStateAsync() {
+        return warnOnFailure(call(AsyncHoverflyClient::deleteState, HoverflyClient::deleteState),
+                "Older version of Hoverfly may not have a delete state API");
     }
 
     /**
@@ -382,11 +584,12 @@ public class Hoverfly implements AutoCloseable {
      * Deletes all diffs from Hoverfly
      */
     public void resetDiffs() {
-        try {
-            hoverflyClient.cleanDiffs();
-        } catch (HoverflyClientException e) {
-            LOGGER.warn("Older version of Hoverfly may not have a delete diffs API", e);
-        }
+        HoverflyExecutors.join(resetDiffsAsync());
+    }
+
+    private CompletableFuture<Void> resetDiffsAsync() {
+        return warnOnFailure(call(AsyncHoverflyClient::cleanDiffs, HoverflyClient::cleanDiffs),
+                "Older version of Hoverfly may not have a delete diffs API");
     }
 
     /**
@@ -419,6 +622,27 @@ public class Hoverfly implements AutoCloseable {
         return hoverflyClient.getSimulation();
     }
 
+    /**
+     * Gets the request matchers of the simulation pairs from the running {@link Hoverfly} instance, without reading the
+     * responses. This is cheaper than {@link #getSimulation()} when the responses have large bodies.
+     *
+     * @return the request matchers
+     */
+    public List<Request> getSimulationRequests() {
+        return hoverflyClient.getSimulationRequests();
+    }
+
+    /**
+     * Streams the journal of the running {@link Hoverfly} instance one page at a time, fetching the next page in the
+     * background while the current one is consumed. Close the stream if it is not consumed entirely.
+     *
+     * @param pageSize the number of entries to fetch at a time
+     * @return the journal entries, in the order they were recorded
+     */
+    public Stream<JournalEntry> streamJournal(int pageSize) {
+        return hoverflyClient.streamJournal(pageSize, null, true);
+    }
+
     /**
      * Gets configuration information from the running instance of Hoverfly.
      * @return the hoverfly info object
@@ -441,6 +665,7 @@ public class Hoverfly implements AutoCloseable {
      * @param mode hoverfly mode to change
      */
     public void setMode(HoverflyMode mode) {
+        onModeChange(mode);
         hoverflyClient.setMode(mode);
     }
 
@@ -452,6 +677,21 @@ public class Hoverfly implements AutoCloseable {
         setModeWithArguments(mode, hoverflyConfig);
     }
 
+    /**
+     * Changes the mode of Hoverfly without waiting for it, using the capture arguments of the current configuration
+     *
+     * @param mode the new mode
+     * @return a future completed when the mode is changed
+     */
+    public CompletableFuture<Void> resetModeAsync(HoverflyMode mode) {
+        onModeChange(mode);
+        Optional<ModeArguments> modeArguments = getModeArguments(mode, hoverflyConfig);
+        if (modeArguments.isPresent()) {
+            return call(client -> client.setMode(mode, modeArguments.get()), client -> client.setMode(mode, modeArguments.get()));
+        }
+        return call(client -> client.setMode(mode), client -> client.setMode(mode));
+    }
+
     /**
      * Gets the validated {@link HoverflyConfig} object used by the current Hoverfly instance
      * @return the current Hoverfly configurations
@@ -503,17 +743,66 @@ public class Hoverfly implements AutoCloseable {
     }
 
 
+    /**
+     * Loads the journal once into an indexed {@link JournalSnapshot}, to run many verifications without going back to
+     * {@link Hoverfly} for each of them
+     *
+     * @return the snapshot of the journal
+     */
+    public JournalSnapshot snapshotJournal() {
+        try (Stream<JournalEntry> entries = streamJournal(VERIFICATION_JOURNAL_PAGE_SIZE)) {
+            return new JournalSnapshot(entries.collect(Collectors.toList()), hoverflyClient::searchJournal);
+        }
+    }
+
     public void verifyAll() {
-        Simulation simulation = hoverflyClient.getSimulation();
-        simulation.getHoverflyData().getPairs().stream()
-                .map(RequestResponsePair::getRequest)
-                .forEach(request -> verifyRequest(request, atLeastOnce()));
+        List<Request> requests = hoverflyClient.getSimulationRequests();
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        // Fetch the journal once and match every request against it in the JVM, in parallel on the common fork-join pool.
+        // The requests which cannot be matched locally are searched for by Hoverfly.
+        List<RequestDetails> journal;
+        try (Stream<JournalEntry> entries = streamJournal(VERIFICATION_JOURNAL_PAGE_SIZE)) {
+            journal = entries.map(JournalEntry::getRequest).collect(Collectors.toList());
+        }
+        List<OptionalInt> localCounts = requests.parallelStream()
+                .map(request -> LocalRequestMatcher.of(request)
+                        .map(matcher -> OptionalInt.of(matcher.count(journal)))
+                        .orElse(OptionalInt.empty()))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            OptionalInt localCount = localCounts.get(i);
+            if (localCount.isPresent()) {
+                atLeastOnce().verify(request, new VerificationData(localCount.getAsInt(), () -> hoverflyClient.searchJournal(request)));
+            } else {
+                verifyRequest(request, atLeastOnce());
+            }
+        }
+    }
+
+    /**
+     * Verifies many request matchers against the journal, which is fetched once. Every verification is run, and all the
+     * failures are reported together.
+     *
+     * @param verifications the criteria of each request matcher, which are verified in the iteration order of the map
+     * @throws io.specto.hoverfly.junit.verification.HoverflyVerificationError if any of the verifications fails
+     */
+    public void verifyAll(Map<RequestMatcherBuilder, VerificationCriteria> verifications) {
+        if (verifications.isEmpty()) {
+            return;
+        }
+        snapshotJournal().verifyAll(verifications);
     }
 
     private void verifyRequest(Request request, VerificationCriteria criteria) {
-        Journal journal = hoverflyClient.searchJournal(request);
+        // Only count the matching requests, the entries are fetched if the verification fails and reports them
+        int numberOfRequests = hoverflyClient.countJournal(request);
 
-        criteria.verify(request, new VerificationData(journal));
+        criteria.verify(request, new VerificationData(numberOfRequests, () -> hoverflyClient.searchJournal(request)));
     }
 
     private void persistSimulation(Path path, Simulation simulation) throws IOException {
@@ -523,57 +812,178 @@ public class Hoverfly implements AutoCloseable {
 
 
     /**
-     * Blocks until the Hoverfly process becomes healthy, otherwise time out
+     * Waits for the admin interface to become healthy. A local process signals when its admin interface is starting, so the
+     * health check is only retried with a short backoff until then, or if the process logs are not available.
      */
-    private void waitForHoverflyToBecomeHealthy() {
-        final Instant now = Instant.now();
+    private void waitForHoverflyToBecomeHealthy(StartedProcess process) {
+        final long startTime = System.nanoTime();
+        final long deadline = startTime + TimeUnit.SECONDS.toNanos(BOOT_TIMEOUT_SECONDS);
+        long backoffMs = INITIAL_HEALTH_CHECK_BACKOFF_MS;
+        boolean signalled = false;
 
-        while (Duration.between(now, Instant.now()).getSeconds() < BOOT_TIMEOUT_SECONDS) {
-            if (hoverflyClient.getHealth()) return;
-            try {
-                // TODO: prefer executors and tasks to threads
-                Thread.sleep(RETRY_BACKOFF_INTERVAL_MS);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+        try {
+            while (System.nanoTime() - deadline < 0) {
+                if (hoverflyClient.getHealth()) {
+                    LOGGER.debug("Hoverfly became healthy after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                    return;
+                }
+                checkHoverflyHasNotFailedToStart(process);
+
+                if (startupSignal != null && !signalled) {
+                    signalled = startupSignal.awaitStarted(backoffMs, TimeUnit.MILLISECONDS);
+                    if (signalled) {
+                        backoffMs = INITIAL_HEALTH_CHECK_BACKOFF_MS;
+                        continue;
+                    }
+                } else {
+                    Thread.sleep(backoffMs);
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_HEALTH_CHECK_BACKOFF_MS);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Hoverfly to become healthy", e);
+        } finally {
+            startupSignal = null;
         }
         throw new IllegalStateException("Hoverfly has not become healthy in " + BOOT_TIMEOUT_SECONDS + " seconds");
     }
 
+    private void checkHoverflyHasNotFailedToStart(StartedProcess process) {
+        if (startupSignal != null && startupSignal.getFailure().isPresent()) {
+            String message = "Hoverfly has failed to start: " + startupSignal.getFailure().get();
+            throw startupSignal.isPortInUse() ? new PortInUseException(message) : new IllegalStateException(message);
+        }
+        if (process != null && !process.getProcess().isAlive()) {
+            throw new IllegalStateException("Hoverfly process has exited before becoming healthy");
+        }
+    }
+
+    // Hoverfly records new pairs into the simulation in capture mode, so the imported simulation is no longer known
+    private void onModeChange(HoverflyMode mode) {
+        capturing = mode == HoverflyMode.CAPTURE;
+        if (capturing) {
+            forgetImportedSimulation();
+        }
+    }
+
+    // Other instances or clients may change the simulation of a remote, shared or daemon Hoverfly without this instance knowing
+    private boolean isSimulationTracked() {
+        return !hoverflyConfig.isRemoteInstance() && !hoverflyConfig.isProcessShared() && !hoverflyConfig.isDaemon();
+    }
+
+    // The state left behind by the previous test is still deleted, as a test may rely on starting without it
+    private boolean isImported(SimulationFingerprint fingerprint) {
+        if (fingerprint != null && !capturing && isSimulationTracked() && fingerprint.equals(importedSimulation)) {
+            LOGGER.info("Simulation data is unchanged since it was imported to Hoverfly, skipping the import");
+            resetState();
+            return true;
+        }
+        return false;
+    }
+
+    private void importSimulation(SimulationFingerprint fingerprint, Runnable upload) {
+        importedSimulation = null;
+        upload.run();
+        if (isSimulationTracked()) {
+            importedSimulation = fingerprint;
+        }
+    }
+
+    private boolean isIncrementalSimulation() {
+        return hoverflyConfig.isIncrementalSimulation() && isSimulationTracked();
+    }
+
+    private void importSimulation(Simulation simulation) {
+        // Hoverfly adds the captured pairs to the simulation, so it has to be replaced while capturing
+        if (!isIncrementalSimulation() || capturing) {
+            hoverflyClient.setSimulation(simulation);
+            return;
+        }
+
+        final SimulationPairs pairs = SimulationPairs.of(simulation);
+        final SimulationPairs previousPairs = importedPairs;
+        importedPairs = null;
+        final Optional<Simulation> additions = pairs.findAdditions(previousPairs);
+        if (additions.isPresent()) {
+            final int addedPairs = additions.get().getHoverflyData().getPairs().size();
+            LOGGER.info("Adding {} new request response pairs to the simulation in Hoverfly", addedPairs);
+            if (addedPairs > 0) {
+                hoverflyClient.addSimulation(additions.get());
+            }
+            resetState();
+        } else {
+            hoverflyClient.setSimulation(simulation);
+        }
+        importedPairs = pairs.withoutPairs();
+    }
+
+    private void forgetImportedSimulation() {
+        importedSimulation = null;
+        importedPairs = null;
+    }
+
+    private static SimulationFingerprint fingerprint(StreamingSimulationSource simulationSource) {
+        try (InputStream simulation = simulationSource.openStream()) {
+            return SimulationFingerprint.of(simulation);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read simulation source, importing it without checking if it has changed: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private void setModeWithArguments(HoverflyMode mode, HoverflyConfiguration config) {
-        if (mode == CAPTURE) {
-            hoverflyClient.setMode(mode, new ModeArguments(config.getCaptureHeaders(), config.isStatefulCapture()));
-        } else if (mode == DIFF) {
-            hoverflyClient.setMode(mode, new ModeArguments(config.getCaptureHeaders()));
+        onModeChange(mode);
+        Optional<ModeArguments> modeArguments = getModeArguments(mode, config);
+        if (modeArguments.isPresent()) {
+            hoverflyClient.setMode(mode, modeArguments.get());
         } else {
             hoverflyClient.setMode(mode);
         }
     }
 
-    private void cleanUp() {
-        LOGGER.info("Destroying hoverfly process");
-
-        if (startedProcess != null) {
-            Process process = startedProcess.getProcess();
-            process.destroy();
+    private static Optional<ModeArguments> getModeArguments(HoverflyMode mode, HoverflyConfiguration config) {
+        if (mode == CAPTURE) {
+            return Optional.of(new ModeArguments(config.getCaptureHeaders(), config.isStatefulCapture()));
+        } else if (mode == DIFF) {
+            return Optional.of(new ModeArguments(config.getCaptureHeaders()));
+        }
+        return Optional.empty();
+    }
 
-            // Some platforms terminate process asynchronously, eg. Windows, and cannot guarantee that synchronous file deletion
-            // can acquire file lock
-            // This snippet is adding max 5s wait time for the hoverfly process to terminate
-            ExecutorService executorService = Executors.newSingleThreadExecutor();
-            Future<Integer> future = executorService.submit((Callable<Integer>) process::waitFor);
-            try {
-                future.get(5, TimeUnit.SECONDS);
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                LOGGER.warn("Timeout when waiting for hoverfly process to terminate.");
+    private CompletableFuture<Void> cleanUp() {
+        forgetImportedSimulation();
+        CompletableFuture<Void> cleanedUp;
+        if (daemonLease != null) {
+            LOGGER.info("Releasing hoverfly daemon");
+            HoverflyDaemons.release(daemonLease, () -> {
+                try {
+                    resetSharedProcess();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to reset hoverfly daemon.", e);
+                }
+            });
+            daemonLease = null;
+            cleanedUp = CompletableFuture.completedFuture(null);
+        } else if (sharedProcess != null) {
+            LOGGER.info("Releasing shared hoverfly process");
+            HoverflyProcessRegistry.release(sharedProcess, this::resetSharedProcess);
+            sharedProcess = null;
+            cleanedUp = CompletableFuture.completedFuture(null);
+        } else {
+            LOGGER.info("Destroying hoverfly process");
+            CompletableFuture<Void> terminated = CompletableFuture.completedFuture(null);
+            if (startedProcess != null) {
+                terminated = destroyProcessAsync(startedProcess);
+                startedProcess = null;
             }
-            executorService.shutdownNow();
-            startedProcess = null;
+            cleanedUp = terminated.thenRunAsync(tempFileManager::purge, HoverflyExecutors.executor());
         }
 
-        proxyConfigurer.restoreProxySystemProperties();
-        sslConfigurer.reset();
-        tempFileManager.purge();
+        if (jvmConfigured) {
+            proxyConfigurer.restoreProxySystemProperties();
+            sslConfigurer.reset();
+        }
 
 
         try {
@@ -583,5 +993,83 @@ public class Hoverfly implements AutoCloseable {
         } catch (IllegalStateException e) {
             // Ignoring this exception as it only means that the JVM is already shutting down
         }
+        return cleanedUp;
+    }
+
+    /**
+     * Leaves the shared process in a clean state for its next user, in the mode it was configured with
+     */
+    private void resetSharedProcess() {
+        forgetImportedSimulation();
+        HoverflyExecutors.join(CompletableFuture.allOf(
+                call(AsyncHoverflyClient::deleteSimulation, HoverflyClient::deleteSimulation),
+                call(AsyncHoverflyClient::deleteJournal, HoverflyClient::deleteJournal),
+                call(AsyncHoverflyClient::deleteState, HoverflyClient::deleteState),
+                call(AsyncHoverflyClient::cleanDiffs, HoverflyClient::cleanDiffs),
+                resetModeAsync(hoverflyMode)));
+    }
+
+    /**
+     * Sends the call without blocking if the client supports it, otherwise makes the blocking call
+     */
+    private CompletableFuture<Void> call(Function<AsyncHoverflyClient, CompletableFuture<Void>> asyncCall,
+                                         Consumer<HoverflyClient> blockingCall) {
+        Optional<AsyncHoverflyClient> asyncClient = hoverflyClient.async();
+        if (asyncClient.isPresent()) {
+            return asyncCall.apply(asyncClient.get());
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            blockingCall.accept(hoverflyClient);
+            result.complete(null);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private static CompletableFuture<Void> warnOnFailure(CompletableFuture<Void> future, String message) {
+        return future.handle((result, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause instanceof HoverflyClientException) {
+                LOGGER.warn(message, cause);
+            } else if (cause != null) {
+                throw new CompletionException(cause);
+            }
+            return null;
+        });
+    }
+
+    static void destroyProcess(StartedProcess startedProcess) {
+        destroyProcessAsync(startedProcess).join();
+    }
+
+    /**
+     * Signals the process to terminate, and waits for it in the background
+     */
+    static CompletableFuture<Void> destroyProcessAsync(StartedProcess startedProcess) {
+        Process process = startedProcess.getProcess();
+        process.destroy();
+
+        // Some platforms terminate process asynchronously, eg. Windows, and cannot guarantee that synchronous file deletion
+        // can acquire file lock
+        // This snippet is adding max 5s wait time for the hoverfly process to terminate
+        // The waiting thread is interrupted when the timeout fires, so that it is not kept blocked by a process that never exits
+        CompletableFuture<Void> terminated = new CompletableFuture<>();
+        Future<?> waiting = HoverflyExecutors.executor().submit(() -> {
+            try {
+                process.waitFor();
+                terminated.complete(null);
+            } catch (InterruptedException e) {
+                terminated.completeExceptionally(e);
+            }
+        });
+
+        return HoverflyExecutors.withTimeout(terminated, 5, TimeUnit.SECONDS)
+                .exceptionally(e -> {
+                    waiting.cancel(true);
+                    LOGGER.warn("Timeout when waiting for hoverfly process to terminate.");
+                    return null;
+                });
     }
 }
@@ -0,0 +1,162 @@
+package io.specto.hoverfly.junit.core;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import io.specto.hoverfly.junit.core.SystemConfigFactory.OsName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A content-addressed cache for the Hoverfly binaries bundled on the classpath, shared by every JVM on the machine.
+ * Each binary is extracted once to {@code <cache root>/binaries/<sha256>/<binary name>} and verified against its checksum
+ * before it is reused.
+ */
+class HoverflyBinaryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyBinaryCache.class);
+    private static final String CACHE_DIR_PROPERTY = "hoverfly.cache.dir";
+    private static final String BINARIES_DIR = "binaries";
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    // Binaries already verified by this JVM, so only the first Hoverfly instance pays for the checksum
+    private static final Map<Path, Path> VERIFIED_BINARIES = new ConcurrentHashMap<>();
+
+    private final Path cacheRoot;
+
+    HoverflyBinaryCache(Path cacheRoot) {
+        this.cacheRoot = cacheRoot.toAbsolutePath();
+    }
+
+    /**
+     * The cache root defaults to ~/.cache/hoverfly-java, and can be overridden with the "hoverfly.cache.dir" system property
+     */
+    static Path defaultCacheRoot() {
+        String cacheDir = System.getProperty(CACHE_DIR_PROPERTY);
+        if (StringUtils.isNotBlank(cacheDir)) {
+            return Paths.get(cacheDir);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "hoverfly-java");
+    }
+
+    Path getCacheRoot() {
+        return cacheRoot;
+    }
+
+    /**
+     * Returns the path to a verified copy of the binary, extracting it from the classpath if it is missing or corrupted
+     */
+    Path getBinary(String resourcePath, String binaryName, OsName osName) throws IOException {
+        Path key = cacheRoot.resolve(resourcePath);
+        Path binary = VERIFIED_BINARIES.get(key);
+        if (binary != null && Files.isRegularFile(binary)) {
+            return binary;
+        }
+
+        // File locks are held on behalf of the whole JVM, so threads have to be serialized before taking one
+        synchronized (VERIFIED_BINARIES) {
+            binary = VERIFIED_BINARIES.get(key);
+            if (binary == null || !Files.isRegularFile(binary)) {
+                binary = extractBinary(resourcePath, binaryName, osName);
+                VERIFIED_BINARIES.put(key, binary);
+            }
+            return binary;
+        }
+    }
+
+    private Path extractBinary(String resourcePath, String binaryName, OsName osName) throws IOException {
+        final String checksum;
+        try (InputStream resourceAsStream = HoverflyUtils.getClasspathResourceAsStream(resourcePath)) {
+            checksum = sha256(resourceAsStream);
+        }
+
+        Path binaryDir = Files.createDirectories(cacheRoot.resolve(BINARIES_DIR).resolve(checksum));
+        Path binary = binaryDir.resolve(binaryName);
+
+        try (FileChannel lockChannel = FileChannel.open(binaryDir.resolve(LOCK_FILE_NAME), CREATE, WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                if (Files.isRegularFile(binary)) {
+                    try (InputStream cachedBinary = Files.newInputStream(binary)) {
+                        if (checksum.equals(sha256(cachedBinary))) {
+                            LOGGER.info("Using cached binary {}", binary);
+                            return binary;
+                        }
+                    }
+                    LOGGER.warn("Cached binary {} does not match its checksum, extracting it again", binary);
+                }
+
+                LOGGER.info("Storing binary in cache directory {}", binaryDir);
+                Path tempFile = Files.createTempFile(binaryDir, binaryName, ".tmp");
+                try {
+                    final String copiedChecksum;
+                    try (DigestInputStream resourceAsStream = new DigestInputStream(
+                            HoverflyUtils.getClasspathResourceAsStream(resourcePath), newSha256Digest())) {
+                        Files.copy(resourceAsStream, tempFile, REPLACE_EXISTING);
+                        copiedChecksum = toHex(resourceAsStream.getMessageDigest().digest());
+                    }
+                    if (!checksum.equals(copiedChecksum)) {
+                        throw new IOException("Checksum mismatch when extracting " + resourcePath);
+                    }
+                    TempFileManager.setExecutablePermissions(tempFile, osName);
+                    moveIntoPlace(tempFile, binary);
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+        return binary;
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(InputStream inputStream) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package io.specto.hoverfly.junit.core;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the background process that looks after a Hoverfly daemon, see
+ * {@link io.specto.hoverfly.junit.core.config.LocalHoverflyConfig#asDaemon()}. It starts Hoverfly, publishes the daemon
+ * descriptor, and stops Hoverfly once no JVM has held a lease on the daemon for the idle timeout.
+ *
+ * This class is not meant to be used directly. It only depends on the JDK, as it runs with nothing but this library on
+ * its classpath.
+ */
+public final class HoverflyDaemonWatchdog {
+
+    static final String DESCRIPTOR_FILE_NAME = "daemon.properties";
+    static final String LOCK_FILE_NAME = "daemon.lock";
+    static final String LEASES_DIR_NAME = "leases";
+    static final String LEASE_FILE_SUFFIX = ".lease";
+    static final String LOG_FILE_NAME = "hoverfly.log";
+
+    static final String HASH_PROPERTY = "hash";
+    static final String PROXY_PORT_PROPERTY = "proxyPort";
+    static final String ADMIN_PORT_PROPERTY = "adminPort";
+    static final String PID_PROPERTY = "pid";
+
+    private static final long CHECK_INTERVAL_MS = 500;
+
+    private HoverflyDaemonWatchdog() {
+    }
+
+    /**
+     * Arguments: daemon directory, working directory, idle timeout in milliseconds, configuration hash, proxy port,
+     * admin port, followed by the Hoverfly command
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 7) {
+            throw new IllegalArgumentException("Usage: <daemon dir> <working dir> <idle timeout ms> <hash> <proxy port> <admin port> <command...>");
+        }
+        Path daemonDir = Paths.get(args[0]);
+        Path workingDir = Paths.get(args[1]);
+        long idleTimeoutMs = Long.parseLong(args[2]);
+        List<String> command = Arrays.asList(args).subList(6, args.length);
+
+        Process hoverfly = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(Redirect.appendTo(daemonDir.resolve(LOG_FILE_NAME).toFile()))
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(hoverfly::destroy));
+
+        Properties descriptor = new Properties();
+        descriptor.setProperty(HASH_PROPERTY, args[3]);
+        descriptor.setProperty(PROXY_PORT_PROPERTY, args[4]);
+        descriptor.setProperty(ADMIN_PORT_PROPERTY, args[5]);
+        descriptor.setProperty(PID_PROPERTY, currentPid());
+        writeDescriptor(daemonDir, descriptor);
+
+        long lastActive = System.nanoTime();
+        while (true) {
+            Thread.sleep(CHECK_INTERVAL_MS);
+
+            if (!hoverfly.isAlive()) {
+                log("Hoverfly has exited with code " + hoverfly.exitValue());
+                deleteDescriptor(daemonDir);
+                System.exit(1);
+            }
+
+            if (hasActiveLeases(daemonDir)) {
+                lastActive = System.nanoTime();
+            } else if (System.nanoTime() - lastActive >= TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs) && tryShutdown(daemonDir, hoverfly)) {
+                System.exit(0);
+            }
+        }
+    }
+
+    private static boolean tryShutdown(Path daemonDir, Process hoverfly) throws IOException, InterruptedException {
+        try (FileChannel lockChannel = FileChannel.open(daemonDir.resolve(LOCK_FILE_NAME), CREATE, WRITE);
+             FileLock lock = lockChannel.tryLock()) {
+            // A JVM is attaching to the daemon
+            if (lock == null || hasActiveLeases(daemonDir)) {
+                return false;
+            }
+            log("Stopping idle Hoverfly daemon");
+            deleteDescriptor(daemonDir);
+            hoverfly.destroy();
+            hoverfly.waitFor(5, TimeUnit.SECONDS);
+            return true;
+        }
+    }
+
+    /**
+     * A lease is held by a JVM as long as it keeps a lock on the lease file, which the operating system releases if the
+     * JVM dies. Lease files left behind are deleted.
+     */
+    static boolean hasActiveLeases(Path daemonDir) throws IOException {
+        return hasActiveLeases(daemonDir, Collections.emptySet(), true);
+    }
+
+    /**
+     * @param ownedLeases the lease files locked by the calling JVM, which are active and never opened, as closing any
+     *                    channel on a file releases every lock the JVM holds on it
+     * @param deleteStaleLeases whether to delete the lease files left behind, which only the watchdog does
+     */
+    static boolean hasActiveLeases(Path daemonDir, Set<Path> ownedLeases, boolean deleteStaleLeases) throws IOException {
+        Path leasesDir = daemonDir.resolve(LEASES_DIR_NAME);
+        if (!Files.isDirectory(leasesDir)) {
+            return false;
+        }
+        boolean active = false;
+        try (DirectoryStream<Path> leases = Files.newDirectoryStream(leasesDir, "*" + LEASE_FILE_SUFFIX)) {
+            for (Path lease : leases) {
+                if (ownedLeases.contains(lease.toAbsolutePath().normalize()) || isLocked(lease)) {
+                    active = true;
+                } else if (deleteStaleLeases) {
+                    Files.deleteIfExists(lease);
+                }
+            }
+        }
+        return active;
+    }
+
+    private static boolean isLocked(Path lease) {
+        try (FileChannel channel = FileChannel.open(lease, WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return true;
+            }
+            lock.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        } catch (IOException e) {
+            // The lease file is gone, or is locked on platforms which do not allow opening locked files
+            return Files.exists(lease);
+        }
+    }
+
+    static void writeDescriptor(Path daemonDir, Properties descriptor) throws IOException {
+        Path tempFile = Files.createTempFile(daemonDir, DESCRIPTOR_FILE_NAME, ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+            descriptor.store(outputStream, "Hoverfly daemon");
+        }
+        Files.move(tempFile, daemonDir.resolve(DESCRIPTOR_FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static void deleteDescriptor(Path daemonDir) throws IOException {
+        Files.deleteIfExists(daemonDir.resolve(DESCRIPTOR_FILE_NAME));
+    }
+
+    private static String currentPid() {
+        // The runtime name is pid@hostname on the common JVMs
+        String runtimeName = ManagementFactory.getRuntimeMXBean().getName();
+        int separator = runtimeName.indexOf('@');
+        return separator > 0 ? runtimeName.substring(0, separator) : runtimeName;
+    }
+
+    private static void log(String message) {
+        System.out.println("[hoverfly-daemon-watchdog] " + message);
+    }
+}
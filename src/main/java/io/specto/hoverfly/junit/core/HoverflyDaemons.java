@@ -0,0 +1,317 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.ADMIN_PORT_PROPERTY;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.DESCRIPTOR_FILE_NAME;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.HASH_PROPERTY;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.LEASES_DIR_NAME;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.LEASE_FILE_SUFFIX;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.LOCK_FILE_NAME;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.LOG_FILE_NAME;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.PID_PROPERTY;
+import static io.specto.hoverfly.junit.core.HoverflyDaemonWatchdog.PROXY_PORT_PROPERTY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import io.specto.hoverfly.junit.api.HoverflyClient;
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts and attaches to Hoverfly daemons, which are Hoverfly processes that outlive the JVM that started them and are
+ * reused by later JVMs with the same configuration. Each daemon lives in {@code <cache root>/daemons/<configuration hash>},
+ * where a descriptor file holds its ports and the PID of its {@link HoverflyDaemonWatchdog}.
+ *
+ * JVMs with the same configuration attach to the same daemon concurrently. A daemon is only reset when the last lease
+ * on it is released, so that a JVM never wipes the simulation, journal or state that another one is still using.
+ */
+class HoverflyDaemons {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyDaemons.class);
+    private static final String DAEMONS_DIR = "daemons";
+    private static final String WORKING_DIR = "work";
+    private static final int BOOT_TIMEOUT_SECONDS = 10;
+    private static final long HEALTH_CHECK_INTERVAL_MS = 20;
+
+    // File locks are held on behalf of the whole JVM, so threads have to be serialized before taking one
+    private static final Object JVM_LOCK = new Object();
+
+    // The health of a booting daemon is polled every few milliseconds, which should not build a new client every time
+    private static final OkHttpClient HEALTH_CHECK_CLIENT = new OkHttpClient();
+
+    // The lease files locked by this JVM, which are never opened again to check them, see HoverflyDaemonWatchdog#hasActiveLeases
+    private static final Set<Path> OWNED_LEASES = ConcurrentHashMap.newKeySet();
+
+    private HoverflyDaemons() {
+    }
+
+    /**
+     * Takes a lease on the daemon for the given configuration, starting it if there is no healthy one
+     *
+     * @param commandBuilder copies the files needed by Hoverfly with the given file manager, and returns the command to start it
+     */
+    static DaemonLease attach(HoverflyConfiguration config, Path cacheRoot, Function<TempFileManager, List<String>> commandBuilder) {
+        String hash = sha256(HoverflyProcessRegistry.keyOf(config) + "\nlibrary=" + libraryVersion());
+        Path daemonDir = cacheRoot.resolve(DAEMONS_DIR).resolve(hash);
+
+        synchronized (JVM_LOCK) {
+            try {
+                Files.createDirectories(daemonDir.resolve(LEASES_DIR_NAME));
+                try (FileChannel lockChannel = FileChannel.open(daemonDir.resolve(LOCK_FILE_NAME), CREATE, WRITE)) {
+                    FileLock lock = lockChannel.lock();
+                    try {
+                        Optional<Properties> descriptor = readDescriptor(daemonDir)
+                                .filter(properties -> hash.equals(properties.getProperty(HASH_PROPERTY)));
+                        int proxyPort;
+                        int adminPort;
+                        if (descriptor.isPresent() && isHealthy(config, port(descriptor.get(), ADMIN_PORT_PROPERTY))) {
+                            proxyPort = port(descriptor.get(), PROXY_PORT_PROPERTY);
+                            adminPort = port(descriptor.get(), ADMIN_PORT_PROPERTY);
+                            LOGGER.info("Attaching to Hoverfly daemon with PID {} on admin port {}", descriptor.get().getProperty(PID_PROPERTY), adminPort);
+                        } else {
+                            if (descriptor.isPresent()) {
+                                LOGGER.warn("Hoverfly daemon with PID {} is not healthy, starting a new one.", descriptor.get().getProperty(PID_PROPERTY));
+                            }
+                            HoverflyDaemonWatchdog.deleteDescriptor(daemonDir);
+                            startDaemon(config, hash, daemonDir, commandBuilder);
+                            proxyPort = config.getProxyPort();
+                            adminPort = config.getAdminPort();
+                        }
+                        return DaemonLease.take(daemonDir, proxyPort, adminPort);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to attach to Hoverfly daemon in " + daemonDir, e);
+            }
+        }
+    }
+
+    /**
+     * Releases a lease previously taken. The reset action is run before another JVM can attach to the daemon if this was
+     * the last active lease on it, otherwise the daemon is left as it is for the JVMs still using it.
+     */
+    static void release(DaemonLease lease, Runnable reset) {
+        Path daemonDir = lease.daemonDir;
+        synchronized (JVM_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(daemonDir.resolve(LOCK_FILE_NAME), CREATE, WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    lease.release();
+                    if (HoverflyDaemonWatchdog.hasActiveLeases(daemonDir, OWNED_LEASES, false)) {
+                        LOGGER.info("Hoverfly daemon in {} is still in use, skipping reset", daemonDir);
+                    } else {
+                        reset.run();
+                    }
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Failed to lock Hoverfly daemon in {}, skipping reset", daemonDir, e);
+                lease.release();
+            }
+        }
+    }
+
+    private static void startDaemon(HoverflyConfiguration config, String hash, Path daemonDir,
+                                    Function<TempFileManager, List<String>> commandBuilder) throws IOException {
+        HoverflyUtils.checkPortInUse(config.getProxyPort());
+        HoverflyUtils.checkPortInUse(config.getAdminPort());
+
+        // The working files belong to the daemon, so they are never purged by this JVM
+        TempFileManager daemonFileManager = new TempFileManager();
+        daemonFileManager.setBinaryLocation(daemonDir.resolve(WORKING_DIR).toString());
+        Files.createDirectories(daemonDir.resolve(WORKING_DIR));
+        List<String> hoverflyCommand = commandBuilder.apply(daemonFileManager);
+
+        long idleTimeoutMs = config.getDaemonIdleTimeout()
+                .orElseThrow(() -> new IllegalStateException("Hoverfly daemon mode is not enabled."))
+                .toMillis();
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx32m");
+        command.add("-cp");
+        command.add(watchdogClasspath());
+        command.add(HoverflyDaemonWatchdog.class.getName());
+        command.add(daemonDir.toString());
+        command.add(daemonFileManager.getOrCreateTempDirectory().toString());
+        command.add(String.valueOf(idleTimeoutMs));
+        command.add(hash);
+        command.add(String.valueOf(config.getProxyPort()));
+        command.add(String.valueOf(config.getAdminPort()));
+        command.addAll(hoverflyCommand);
+
+        Path logFile = daemonDir.resolve(LOG_FILE_NAME);
+        LOGGER.info("Starting Hoverfly daemon in {}, logging to {}", daemonDir, logFile);
+        Process watchdog = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Redirect.appendTo(logFile.toFile()))
+                .start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BOOT_TIMEOUT_SECONDS);
+        try {
+            while (System.nanoTime() - deadline < 0) {
+                if (!watchdog.isAlive()) {
+                    throw new IllegalStateException("Hoverfly daemon has exited before becoming healthy, see " + logFile);
+                }
+                if (isHealthy(config, config.getAdminPort())) {
+                    return;
+                }
+                Thread.sleep(HEALTH_CHECK_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            watchdog.destroy();
+            throw new IllegalStateException("Interrupted while waiting for Hoverfly daemon to become healthy", e);
+        }
+        watchdog.destroy();
+        throw new IllegalStateException("Hoverfly daemon has not become healthy in " + BOOT_TIMEOUT_SECONDS + " seconds, see " + logFile);
+    }
+
+    private static boolean isHealthy(HoverflyConfiguration config, int adminPort) {
+        return HoverflyClient.custom()
+                .scheme(config.getScheme())
+                .host(config.getHost())
+                .port(adminPort)
+                .withHttpClient(HEALTH_CHECK_CLIENT)
+                .build()
+                .getHealth();
+    }
+
+    private static Optional<Properties> readDescriptor(Path daemonDir) {
+        Path descriptorFile = daemonDir.resolve(DESCRIPTOR_FILE_NAME);
+        if (!Files.isRegularFile(descriptorFile)) {
+            return Optional.empty();
+        }
+        try (InputStream inputStream = Files.newInputStream(descriptorFile)) {
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return Optional.of(properties);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read Hoverfly daemon descriptor {}", descriptorFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private static int port(Properties descriptor, String property) {
+        return Integer.parseInt(descriptor.getProperty(property, "0"));
+    }
+
+    private static String watchdogClasspath() {
+        try {
+            return new File(HoverflyDaemonWatchdog.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        } catch (URISyntaxException | RuntimeException e) {
+            throw new IllegalStateException("Cannot find the location of the hoverfly-java classes to start the daemon", e);
+        }
+    }
+
+    /**
+     * Identifies the hoverfly-java build, and so the bundled Hoverfly binary and the watchdog, so that a daemon started by
+     * another version of the library is never attached to
+     */
+    static String libraryVersion() {
+        String implementationVersion = HoverflyDaemonWatchdog.class.getPackage().getImplementationVersion();
+        if (implementationVersion != null) {
+            return implementationVersion;
+        }
+        // Classes which are not packaged in a jar with a version, eg. when built from source, are told apart by their location
+        File location = new File(watchdogClasspath());
+        return location.getPath() + "@" + location.lastModified();
+    }
+
+    static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    /**
+     * A lease on a daemon, which keeps it from being stopped for being idle until it is released or the JVM exits
+     */
+    static class DaemonLease {
+
+        private final Path daemonDir;
+        private final Path leaseFile;
+        private final FileChannel channel;
+        private final FileLock lock;
+        private final int proxyPort;
+        private final int adminPort;
+
+        private DaemonLease(Path daemonDir, Path leaseFile, FileChannel channel, FileLock lock, int proxyPort, int adminPort) {
+            this.daemonDir = daemonDir;
+            this.leaseFile = leaseFile;
+            this.channel = channel;
+            this.lock = lock;
+            this.proxyPort = proxyPort;
+            this.adminPort = adminPort;
+        }
+
+        static DaemonLease take(Path daemonDir, int proxyPort, int adminPort) throws IOException {
+            Path leaseFile = daemonDir.resolve(LEASES_DIR_NAME).resolve(UUID.randomUUID() + LEASE_FILE_SUFFIX).toAbsolutePath().normalize();
+            FileChannel channel = FileChannel.open(leaseFile, CREATE, WRITE);
+            try {
+                DaemonLease lease = new DaemonLease(daemonDir, leaseFile, channel, channel.lock(), proxyPort, adminPort);
+                OWNED_LEASES.add(leaseFile);
+                return lease;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int getProxyPort() {
+            return proxyPort;
+        }
+
+        int getAdminPort() {
+            return adminPort;
+        }
+
+        void release() {
+            if (!channel.isOpen()) {
+                return;
+            }
+            try {
+                lock.release();
+                channel.close();
+                Files.deleteIfExists(leaseFile);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to release Hoverfly daemon lease {}", leaseFile, e);
+            } finally {
+                OWNED_LEASES.remove(leaseFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.specto.hoverfly.junit.core;
+
+import io.specto.hoverfly.junit.api.AsyncHoverflyClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Daemon threads shared by every {@link Hoverfly} instance to run startup and shutdown steps in the background, and to
+ * read and parse simulations concurrently
+ */
+class HoverflyExecutors {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "hoverfly-worker-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Parsing is CPU bound, so it is limited to a thread per processor. Tasks may wait for tasks they have started, which a
+    // fork join pool compensates for with extra threads instead of running out of them
+    private static final ForkJoinPool PARSER = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("hoverfly-parser-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hoverfly-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private HoverflyExecutors() {
+    }
+
+    static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    static ExecutorService parser() {
+        return PARSER;
+    }
+
+    /**
+     * Returns a future that completes like the given one, or fails with a {@link TimeoutException} if it takes longer
+     * than the timeout
+     */
+    static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeoutTask = SCHEDULER.schedule(() -> result.completeExceptionally(new TimeoutException()), timeout, unit);
+        future.whenComplete((value, throwable) -> {
+            timeoutTask.cancel(false);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for the future to complete, and rethrows the original exception if it has failed
+     *
+     * @see AsyncHoverflyClient#join(CompletableFuture)
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        return AsyncHoverflyClient.join(future);
+    }
+}
@@ -0,0 +1,379 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyConfig.localConfigs;
+
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of {@link Hoverfly} instances which are started ahead of time on background threads, so that tests running in
+ * parallel can borrow a ready instance instead of waiting for one to boot. Each instance listens on its own proxy and
+ * admin ports, and is reset when it is released back to the pool.
+ *
+ * The proxy system properties and the default SSL context are JVM wide, so the instances leave them alone, and the pool
+ * sets them once for the first instance that has started, and restores them when it is closed. Tests should configure
+ * their HTTP clients with the proxy port of the instance they borrowed, eg. {@code hoverfly.getHoverflyConfig().getProxyPort()},
+ * and {@code hoverfly.getSslConfigurer().getSslContext()}.
+ */
+public class HoverflyPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyPool.class);
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+    private static final int MAX_START_ATTEMPTS = 3;
+
+    private final HoverflyMode hoverflyMode;
+    private final Supplier<Hoverfly> hoverflyFactory;
+    private final ExecutorService executorService;
+
+    private final Object lock = new Object();
+    private final Deque<Hoverfly> idleInstances = new ArrayDeque<>();
+    private final Set<Hoverfly> borrowedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Hoverfly> startedInstances = new ArrayList<>();
+    private int pendingStarts;
+    private RuntimeException startupFailure;
+    private boolean closed;
+    private ProxyConfigurer proxyConfigurer;
+    private final SslConfigurer sslConfigurer = new SslConfigurer();
+
+    private long borrowCount;
+    private long totalBorrowWaitNanos;
+    private long maxBorrowWaitNanos;
+
+    /**
+     * Instantiates a pool of local {@link Hoverfly} instances with the default configuration, and starts them in the background
+     *
+     * @param size         the number of instances
+     * @param hoverflyMode the mode
+     */
+    public HoverflyPool(int size, HoverflyMode hoverflyMode) {
+        this(size, localConfigs(), hoverflyMode);
+    }
+
+    /**
+     * Instantiates a pool of local {@link Hoverfly} instances, and starts them in the background. The proxy and admin ports
+     * must not be set if the pool has more than one instance.
+     *
+     * @param size                  the number of instances
+     * @param hoverflyConfigBuilder the config
+     * @param hoverflyMode          the mode
+     */
+    public HoverflyPool(int size, HoverflyConfig hoverflyConfigBuilder, HoverflyMode hoverflyMode) {
+        this(size, hoverflyMode, () -> new Hoverfly(hoverflyConfigBuilder, hoverflyMode));
+    }
+
+    // Visible for testing
+    HoverflyPool(int size, HoverflyMode hoverflyMode, Supplier<Hoverfly> hoverflyFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Hoverfly pool size must be at least 1.");
+        }
+        this.hoverflyMode = hoverflyMode;
+        this.hoverflyFactory = hoverflyFactory;
+
+        List<Hoverfly> instances = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Hoverfly hoverfly = createHoverfly();
+            validate(hoverfly.getHoverflyConfig(), size);
+            instances.add(hoverfly);
+        }
+
+        int poolId = POOL_COUNTER.incrementAndGet();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "hoverfly-pool-" + poolId + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pendingStarts = size;
+        instances.forEach(hoverfly -> executorService.execute(() -> start(hoverfly, 1)));
+    }
+
+    /**
+     * Borrows a started {@link Hoverfly} instance, waiting until one is available
+     *
+     * @return the borrowed instance, which must be given back with {@link #release(Hoverfly)}
+     */
+    public Hoverfly borrow() {
+        return borrow(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Borrows a started {@link Hoverfly} instance, waiting up to the given time until one is available
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     * @return the borrowed instance, which must be given back with {@link #release(Hoverfly)}
+     */
+    public Hoverfly borrow(long timeout, TimeUnit unit) {
+        long startTime = System.nanoTime();
+        long remainingNanos = unit.toNanos(timeout);
+
+        synchronized (lock) {
+            while (idleInstances.isEmpty()) {
+                if (closed) {
+                    throw new IllegalStateException("Hoverfly pool is closed.");
+                }
+                // The instances being borrowed or started will become available
+                if (startedInstances.isEmpty() && pendingStarts == 0) {
+                    throw new IllegalStateException("Failed to start Hoverfly pool.", startupFailure);
+                }
+                if (remainingNanos <= 0) {
+                    throw new IllegalStateException("Timed out waiting for a Hoverfly instance from the pool.");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a Hoverfly instance from the pool.", e);
+                }
+                remainingNanos = unit.toNanos(timeout) - (System.nanoTime() - startTime);
+            }
+
+            Hoverfly hoverfly = idleInstances.poll();
+            borrowedInstances.add(hoverfly);
+            recordBorrowWait(System.nanoTime() - startTime);
+            return hoverfly;
+        }
+    }
+
+    /**
+     * Resets the simulation, journal, state, diffs and mode of a borrowed {@link Hoverfly} instance, and gives it back to
+     * the pool. An instance that cannot be reset is replaced with a new one. Releasing an instance after the pool is
+     * closed does nothing, as closing the pool has already stopped it.
+     *
+     * @param hoverfly the instance previously returned by {@link #borrow()}
+     */
+    public void release(Hoverfly hoverfly) {
+        synchronized (lock) {
+            if (!borrowedInstances.contains(hoverfly)) {
+                throw new IllegalArgumentException("Hoverfly instance was not borrowed from this pool.");
+            }
+            if (closed) {
+                borrowedInstances.remove(hoverfly);
+                return;
+            }
+        }
+
+        boolean reusable = true;
+        try {
+            hoverfly.reset();
+            hoverfly.resetDiffs();
+            hoverfly.resetMode(hoverflyMode);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to reset Hoverfly instance on admin port {}, replacing it with a new one.",
+                    hoverfly.getHoverflyConfig().getAdminPort(), e);
+            reusable = false;
+        }
+
+        synchronized (lock) {
+            borrowedInstances.remove(hoverfly);
+            if (reusable && !closed) {
+                idleInstances.add(hoverfly);
+                lock.notifyAll();
+                return;
+            }
+            startedInstances.remove(hoverfly);
+        }
+
+        hoverfly.close();
+        if (!reusable) {
+            replace();
+        }
+    }
+
+    /**
+     * @return the statistics of the time spent waiting in {@link #borrow()}
+     */
+    public BorrowWaitStatistics getBorrowWaitStatistics() {
+        synchronized (lock) {
+            return new BorrowWaitStatistics(borrowCount, totalBorrowWaitNanos, maxBorrowWaitNanos);
+        }
+    }
+
+    /**
+     * Stops every {@link Hoverfly} instance in the pool, including the ones that are still borrowed
+     */
+    @Override
+    public void close() {
+        List<Hoverfly> instances;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            instances = new ArrayList<>(startedInstances);
+            startedInstances.clear();
+            idleInstances.clear();
+            lock.notifyAll();
+        }
+        executorService.shutdownNow();
+
+        LOGGER.info("Closing Hoverfly pool, {}", getBorrowWaitStatistics());
+        CompletableFuture.allOf(instances.stream().map(Hoverfly::closeAsync).toArray(CompletableFuture[]::new)).join();
+        restoreJvmConfiguration();
+    }
+
+    /**
+     * Starts an instance, and starts a new one in its place if it fails, up to {@link #MAX_START_ATTEMPTS} times
+     */
+    private void start(Hoverfly hoverfly, int attempt) {
+        try {
+            hoverfly.start();
+        } catch (RuntimeException e) {
+            hoverfly.close();
+            boolean retry;
+            synchronized (lock) {
+                startupFailure = e;
+                retry = !closed && attempt < MAX_START_ATTEMPTS;
+                if (!retry) {
+                    pendingStarts--;
+                }
+                lock.notifyAll();
+            }
+            if (retry) {
+                LOGGER.warn("Failed to start Hoverfly instance on admin port {}, starting a new one (attempt {} of {}).",
+                        hoverfly.getHoverflyConfig().getAdminPort(), attempt + 1, MAX_START_ATTEMPTS, e);
+                startNewInstance(attempt + 1);
+            } else {
+                LOGGER.warn("Failed to start Hoverfly instance on admin port {}.", hoverfly.getHoverflyConfig().getAdminPort(), e);
+            }
+            return;
+        }
+
+        synchronized (lock) {
+            pendingStarts--;
+            if (!closed) {
+                if (proxyConfigurer == null) {
+                    configureJvm(hoverfly.getHoverflyConfig());
+                }
+                startedInstances.add(hoverfly);
+                idleInstances.add(hoverfly);
+                lock.notifyAll();
+                return;
+            }
+        }
+        hoverfly.close();
+    }
+
+    private void replace() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            pendingStarts++;
+        }
+        startNewInstance(1);
+    }
+
+    // The start has to be counted as pending by the caller
+    private void startNewInstance(int attempt) {
+        try {
+            Hoverfly hoverfly = createHoverfly();
+            executorService.execute(() -> start(hoverfly, attempt));
+        } catch (RuntimeException e) {
+            // The instance cannot be created, or the pool has been closed meanwhile
+            LOGGER.warn("Failed to start a new Hoverfly instance.", e);
+            synchronized (lock) {
+                pendingStarts--;
+                if (!closed) {
+                    startupFailure = e;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private Hoverfly createHoverfly() {
+        Hoverfly hoverfly = hoverflyFactory.get();
+        hoverfly.disableJvmConfiguration();
+        return hoverfly;
+    }
+
+    private void configureJvm(HoverflyConfiguration hoverflyConfig) {
+        sslConfigurer.setDefaultSslContext(hoverflyConfig);
+        proxyConfigurer = new ProxyConfigurer(hoverflyConfig);
+        proxyConfigurer.setProxySystemProperties();
+    }
+
+    private void restoreJvmConfiguration() {
+        ProxyConfigurer configurer;
+        synchronized (lock) {
+            configurer = proxyConfigurer;
+            proxyConfigurer = null;
+        }
+        if (configurer != null) {
+            configurer.restoreProxySystemProperties();
+            sslConfigurer.reset();
+        }
+    }
+
+    private void recordBorrowWait(long waitNanos) {
+        borrowCount++;
+        totalBorrowWaitNanos += waitNanos;
+        maxBorrowWaitNanos = Math.max(maxBorrowWaitNanos, waitNanos);
+    }
+
+    private static void validate(HoverflyConfiguration hoverflyConfig, int size) {
+        if (hoverflyConfig.isRemoteInstance()) {
+            throw new IllegalArgumentException("Hoverfly pool only supports local Hoverfly instances.");
+        }
+        if (hoverflyConfig.isProcessShared() || hoverflyConfig.isDaemon()) {
+            throw new IllegalArgumentException("Hoverfly pool instances cannot share a Hoverfly process.");
+        }
+        if (size > 1 && (!hoverflyConfig.isDynamicProxyPort() || !hoverflyConfig.isDynamicAdminPort())) {
+            throw new IllegalArgumentException("Proxy and admin ports cannot be set for a Hoverfly pool with more than one instance.");
+        }
+    }
+
+    /**
+     * The time spent by callers of {@link HoverflyPool#borrow()} waiting for an instance to become available
+     */
+    public static class BorrowWaitStatistics {
+
+        private final long borrowCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        BorrowWaitStatistics(long borrowCount, long totalWaitNanos, long maxWaitNanos) {
+            this.borrowCount = borrowCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        public long getBorrowCount() {
+            return borrowCount;
+        }
+
+        public Duration getTotalWaitTime() {
+            return Duration.ofNanos(totalWaitNanos);
+        }
+
+        public Duration getMaxWaitTime() {
+            return Duration.ofNanos(maxWaitNanos);
+        }
+
+        public Duration getAverageWaitTime() {
+            return borrowCount == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos / borrowCount);
+        }
+
+        @Override
+        public String toString() {
+            return "borrowed " + borrowCount + " times, waited " + getTotalWaitTime().toMillis() + "ms in total, "
+                    + getAverageWaitTime().toMillis() + "ms on average and " + getMaxWaitTime().toMillis() + "ms at most";
+        }
+    }
+}
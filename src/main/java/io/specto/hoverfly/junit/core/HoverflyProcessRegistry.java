@@ -0,0 +1,186 @@
+package io.specto.hoverfly.junit.core;
+
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import io.specto.hoverfly.junit.core.config.LocalMiddleware;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeroturnaround.exec.StartedProcess;
+
+/**
+ * JVM-wide registry of Hoverfly processes shared by {@link Hoverfly} instances with equivalent process configuration,
+ * see {@link io.specto.hoverfly.junit.core.config.LocalHoverflyConfig#shareProcess()}.
+ *
+ * Processes are reference counted. When the last user releases a process, it is reset and kept running for the next
+ * user with an equivalent configuration, and it is only stopped when the JVM exits.
+ *
+ * Starting, reusing and resetting a process are locked per configuration, so that users of other configurations do not
+ * wait for them.
+ */
+class HoverflyProcessRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoverflyProcessRegistry.class);
+
+    private static final ConcurrentMap<String, SharedProcess> PROCESSES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+    private static Thread shutdownThread;
+
+    private HoverflyProcessRegistry() {
+    }
+
+    /**
+     * Returns the running process for the given configuration, or starts a new one with the launcher
+     */
+    static SharedProcess acquire(HoverflyConfiguration config, TempFileManager tempFileManager,
+                                 Supplier<StartedProcess> launcher) {
+        String key = keyOf(config);
+        synchronized (lockOf(key)) {
+            SharedProcess sharedProcess = PROCESSES.get(key);
+
+            if (sharedProcess == null || !sharedProcess.isAlive()) {
+                if (sharedProcess != null) {
+                    LOGGER.warn("Shared Hoverfly process on admin port {} is no longer running, starting a new one.", sharedProcess.getAdminPort());
+                    PROCESSES.remove(key, sharedProcess);
+                    sharedProcess.stop();
+                }
+                sharedProcess = new SharedProcess(key, launcher.get(), tempFileManager, config.getProxyPort(), config.getAdminPort());
+                PROCESSES.put(key, sharedProcess);
+                registerShutdownHook();
+            } else {
+                LOGGER.info("Reusing shared Hoverfly process on admin port {}", sharedProcess.getAdminPort());
+            }
+
+            sharedProcess.references++;
+            return sharedProcess;
+        }
+    }
+
+    /**
+     * Releases a process previously acquired. The reset action is run before the process can be picked up by a new user
+     * if this was the last reference to it.
+     */
+    static void release(SharedProcess sharedProcess, Runnable resetAction) {
+        synchronized (lockOf(sharedProcess.key)) {
+            if (sharedProcess.references <= 0) {
+                return;
+            }
+            sharedProcess.references--;
+            if (sharedProcess.references == 0 && sharedProcess.isAlive()) {
+                try {
+                    resetAction.run();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to reset shared Hoverfly process, it will not be reused.", e);
+                    PROCESSES.remove(sharedProcess.key, sharedProcess);
+                    sharedProcess.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops every shared process
+     */
+    static void stopAll() {
+        List<SharedProcess> processes = new ArrayList<>();
+        for (String key : new ArrayList<>(PROCESSES.keySet())) {
+            SharedProcess sharedProcess = PROCESSES.remove(key);
+            if (sharedProcess != null) {
+                processes.add(sharedProcess);
+            }
+        }
+        CompletableFuture.allOf(processes.stream().map(SharedProcess::stopAsync).toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Builds a key from the settings that the Hoverfly process is started with. Ports are ignored when they were
+     * assigned randomly, and settings only used on the client side such as the simulation preprocessor are left out.
+     */
+    static String keyOf(HoverflyConfiguration config) {
+        LocalMiddleware middleware = config.getLocalMiddleware();
+        return new StringJoiner("\n")
+                .add("proxyPort=" + (config.isDynamicProxyPort() ? "dynamic" : config.getProxyPort()))
+                .add("adminPort=" + (config.isDynamicAdminPort() ? "dynamic" : config.getAdminPort()))
+                .add("destination=" + config.getDestination())
+                .add("sslCertificatePath=" + config.getSslCertificatePath())
+                .add("sslKeyPath=" + config.getSslKeyPath())
+                .add("clientCertPath=" + config.getClientCertPath())
+                .add("clientKeyPath=" + config.getClientKeyPath())
+                .add("clientAuthDestination=" + config.getClientAuthDestination())
+                .add("clientCaCertPath=" + config.getClientCaCertPath())
+                .add("middleware=" + (middleware == null ? null : middleware.getBinary() + " " + middleware.getPath()))
+                .add("webServer=" + config.isWebServer())
+                .add("tlsVerificationDisabled=" + config.isTlsVerificationDisabled())
+                .add("plainHttpTunneling=" + config.isPlainHttpTunneling())
+                .add("upstreamProxy=" + config.getUpstreamProxy())
+                .add("logger=" + config.getHoverflyLogger().map(Logger::getName).orElse(null))
+                .add("logLevel=" + config.getLogLevel().orElse(null))
+                .add("binaryNameFormat=" + config.getBinaryNameFormat())
+                .add("binaryLocation=" + config.getBinaryLocation())
+                .add("commands=" + config.getCommands())
+                .toString();
+    }
+
+    private static Object lockOf(String key) {
+        return LOCKS.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static synchronized void registerShutdownHook() {
+        if (shutdownThread == null) {
+            shutdownThread = new Thread(HoverflyProcessRegistry::stopAll, "hoverfly-shared-process-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownThread);
+        }
+    }
+
+    /**
+     * A Hoverfly process shared between {@link Hoverfly} instances
+     */
+    static class SharedProcess {
+
+        private final String key;
+        private final StartedProcess startedProcess;
+        private final TempFileManager tempFileManager;
+        private final int proxyPort;
+        private final int adminPort;
+        private int references;
+
+        SharedProcess(String key, StartedProcess startedProcess, TempFileManager tempFileManager, int proxyPort, int adminPort) {
+            this.key = key;
+            this.startedProcess = startedProcess;
+            this.tempFileManager = tempFileManager;
+            this.proxyPort = proxyPort;
+            this.adminPort = adminPort;
+        }
+
+        int getProxyPort() {
+            return proxyPort;
+        }
+
+        int getAdminPort() {
+            return adminPort;
+        }
+
+        int getReferences() {
+            return references;
+        }
+
+        boolean isAlive() {
+            return startedProcess.getProcess().isAlive();
+        }
+
+        private void stop() {
+            stopAsync().join();
+        }
+
+        private CompletableFuture<Void> stopAsync() {
+            LOGGER.info("Destroying shared hoverfly process on admin port {}", adminPort);
+            return Hoverfly.destroyProcessAsync(startedProcess)
+                    .thenRunAsync(tempFileManager::purge, HoverflyExecutors.executor());
+        }
+    }
+}
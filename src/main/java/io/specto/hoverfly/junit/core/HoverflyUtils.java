@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import io.specto.hoverfly.junit.core.model.Simulation;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
@@ -25,7 +26,6 @@ import java.net.ServerSocket;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.Scanner;
 
 /**
  * Utils for Hoverfly
@@ -39,7 +39,7 @@ class HoverflyUtils {
         try (final ServerSocket ignored = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
             // Do nothing
         } catch (IOException e) {
-            throw new IllegalStateException("Port is already in use: " + port);
+            throw new PortInUseException("Port is already in use: " + port);
         }
     }
 
@@ -59,9 +59,14 @@ class HoverflyUtils {
     }
 
 
-    static String convertStreamToString(InputStream is) {
-        Scanner s = new Scanner(is, StandardCharsets.UTF_8.name()).useDelimiter("\\A");
-        return s.hasNext() ? s.next() : "";
+    static String convertStreamToString(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
     }
 
     static Simulation readSimulationFromString(String simulation) {
@@ -0,0 +1,38 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyUtils.convertStreamToString;
+
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link StreamingSimulationSource} which reports every failure to open or read the simulation with the same message
+ */
+class InputStreamSimulationSource implements StreamingSimulationSource {
+
+    private final Callable<InputStream> opener;
+    private final String errorMessage;
+
+    InputStreamSimulationSource(Callable<InputStream> opener, String errorMessage) {
+        this.opener = opener;
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public InputStream openStream() {
+        try {
+            return opener.call();
+        } catch (Exception e) {
+            throw new IllegalArgumentException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public String getSimulation() {
+        try (InputStream is = opener.call()) {
+            return convertStreamToString(is);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(errorMessage, e);
+        }
+    }
+}
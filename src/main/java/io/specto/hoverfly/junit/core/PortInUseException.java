@@ -0,0 +1,13 @@
+package io.specto.hoverfly.junit.core;
+
+/**
+ * Thrown when Hoverfly cannot be started because one of its ports is already in use
+ */
+class PortInUseException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    PortInUseException(String message) {
+        super(message);
+    }
+}
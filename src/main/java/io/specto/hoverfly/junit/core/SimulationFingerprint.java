@@ -0,0 +1,72 @@
+package io.specto.hoverfly.junit.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Identifies a simulation imported into Hoverfly by a 64-bit FNV-1a hash of its sources, and the preprocessor applied to
+ * it, so that importing the same simulation again can be skipped
+ */
+final class SimulationFingerprint {
+
+    static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long hash;
+    private final SimulationPreprocessor preprocessor;
+
+    private SimulationFingerprint(long hash, SimulationPreprocessor preprocessor) {
+        this.hash = hash;
+        this.preprocessor = preprocessor;
+    }
+
+    static SimulationFingerprint of(List<String> simulations, SimulationPreprocessor preprocessor) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String simulation : simulations) {
+            // The length separates the sources, so that moving content from one source to the next changes the hash
+            hash = update(hash, simulation.length());
+            for (int i = 0; i < simulation.length(); i++) {
+                hash = update(hash, simulation.charAt(i));
+            }
+        }
+        return new SimulationFingerprint(hash, preprocessor);
+    }
+
+    static SimulationFingerprint of(InputStream simulation) throws IOException {
+        long hash = FNV_OFFSET_BASIS;
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = simulation.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                hash = (hash ^ (buffer[i] & 0xff)) * FNV_PRIME;
+            }
+        }
+        return new SimulationFingerprint(hash, null);
+    }
+
+    private static long update(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SimulationFingerprint that = (SimulationFingerprint) o;
+        // The preprocessor is compared by identity, as it may behave differently from an equal one
+        return hash == that.hash && preprocessor == that.preprocessor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
@@ -0,0 +1,163 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyUtils.readSimulationFromString;
+
+import io.specto.hoverfly.junit.core.model.DelaySettings;
+import io.specto.hoverfly.junit.core.model.GlobalActions;
+import io.specto.hoverfly.junit.core.model.HoverflyData;
+import io.specto.hoverfly.junit.core.model.RequestResponsePair;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and parses simulations concurrently on the parser threads of {@link HoverflyExecutors}, and merges their pairs
+ * and global delays in order, without the duplicate pairs.
+ *
+ * The pairs are hashed while each simulation is parsed, so that merging them only compares the hashes. Their
+ * {@link RequestResponsePair#hashCode()} is reflection based, which is slow to run one pair after another.
+ */
+final class SimulationMerger {
+
+    private SimulationMerger() {
+    }
+
+    /**
+     * @return the simulation of each source, in the same order
+     */
+    static List<String> readAll(List<SimulationSource> sources) {
+        if (sources.size() == 1) {
+            return Collections.singletonList(sources.get(0).getSimulation());
+        }
+        return sources.stream()
+                .map(source -> supplyAsync(source::getSimulation))
+                .collect(Collectors.toList()).stream()
+                .map(HoverflyExecutors::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param simulations  the simulations to merge, the first of which provides the meta data
+     * @param mutablePairs whether the pairs of the merged simulation may be changed, eg. by a {@link SimulationPreprocessor}
+     * @return the merged simulation
+     */
+    static Simulation merge(List<String> simulations, boolean mutablePairs) {
+        if (simulations.size() == 1) {
+            return readSimulationFromString(simulations.get(0));
+        }
+        List<CompletableFuture<ParsedSimulation>> parsedSimulations = simulations.stream()
+                .map(simulation -> supplyAsync(() -> new ParsedSimulation(readSimulationFromString(simulation))))
+                .collect(Collectors.toList());
+
+        Simulation first = null;
+        Set<HashedPair> mergedPairs = new HashSet<>();
+        List<RequestResponsePair> pairs = new ArrayList<>();
+        List<DelaySettings> delays = new ArrayList<>();
+        for (CompletableFuture<ParsedSimulation> parsedSimulation : parsedSimulations) {
+            ParsedSimulation parsed = HoverflyExecutors.join(parsedSimulation);
+            if (first == null) {
+                first = parsed.simulation;
+            }
+            for (HashedPair pair : parsed.pairs) {
+                if (mergedPairs.add(pair)) {
+                    pairs.add(pair.pair);
+                }
+            }
+            GlobalActions globalActions = parsed.simulation.getHoverflyData().getGlobalActions();
+            if (globalActions != null && globalActions.getDelays() != null) {
+                delays.addAll(globalActions.getDelays());
+            }
+        }
+
+        if (first == null) {
+            return Simulation.newEmptyInstance();
+        }
+        Set<RequestResponsePair> pairSet = mutablePairs ? new LinkedHashSet<>(pairs) : new MergedPairs(pairs);
+        return new Simulation(new HoverflyData(pairSet, new GlobalActions(delays)), first.getHoverflyMetaData());
+    }
+
+    // Classpath sources are looked up with the context class loader, which the parser threads do not share with the caller
+    private static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return CompletableFuture.supplyAsync(() -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader previousClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                return supplier.get();
+            } finally {
+                thread.setContextClassLoader(previousClassLoader);
+            }
+        }, HoverflyExecutors.parser());
+    }
+
+    private static class ParsedSimulation {
+
+        private final Simulation simulation;
+        private final List<HashedPair> pairs;
+
+        private ParsedSimulation(Simulation simulation) {
+            this.simulation = simulation;
+            this.pairs = simulation.getHoverflyData().getPairs().stream().map(HashedPair::new).collect(Collectors.toList());
+        }
+    }
+
+    private static class HashedPair {
+
+        private final RequestResponsePair pair;
+        private final int hash;
+
+        private HashedPair(RequestResponsePair pair) {
+            this.pair = pair;
+            this.hash = pair.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HashedPair)) {
+                return false;
+            }
+            HashedPair that = (HashedPair) o;
+            return hash == that.hash && pair.equals(that.pair);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The pairs of a merged simulation which is only serialized, so they are not hashed again to build a set
+     */
+    private static class MergedPairs extends AbstractSet<RequestResponsePair> {
+
+        private final List<RequestResponsePair> pairs;
+
+        private MergedPairs(List<RequestResponsePair> pairs) {
+            this.pairs = Collections.unmodifiableList(pairs);
+        }
+
+        @Override
+        public Iterator<RequestResponsePair> iterator() {
+            return pairs.iterator();
+        }
+
+        @Override
+        public int size() {
+            return pairs.size();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.SimulationFingerprint.FNV_OFFSET_BASIS;
+import static io.specto.hoverfly.junit.core.SimulationFingerprint.FNV_PRIME;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.specto.hoverfly.junit.core.model.GlobalActions;
+import io.specto.hoverfly.junit.core.model.HoverflyData;
+import io.specto.hoverfly.junit.core.model.RequestResponsePair;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The hashes of the pairs and global actions of a simulation, in order, which tell whether a simulation only appends
+ * pairs to the one imported before it, so that only the added pairs need to be uploaded.
+ *
+ * The hash of a pair is a 64-bit FNV-1a hash of its JSON, which is cheaper to compute than the reflection based
+ * {@link RequestResponsePair#hashCode()}, and does not keep the imported pairs in memory.
+ */
+final class SimulationPairs {
+
+    private static final ObjectWriter PAIR_WRITER = ObjectMapperFactory.getDefaultObjectMapper().writerFor(RequestResponsePair.class);
+    private static final ObjectWriter GLOBAL_ACTIONS_WRITER = ObjectMapperFactory.getDefaultObjectMapper().writerFor(GlobalActions.class);
+
+    private final Simulation simulation;
+    private final List<RequestResponsePair> pairs;
+    private final long[] pairHashes;
+    private final long globalActionsHash;
+
+    private SimulationPairs(Simulation simulation) {
+        HoverflyData data = simulation.getHoverflyData();
+        this.simulation = simulation;
+        this.pairs = new ArrayList<>(data.getPairs());
+        this.pairHashes = pairs.parallelStream().mapToLong(pair -> hash(PAIR_WRITER, pair)).toArray();
+        this.globalActionsHash = hash(GLOBAL_ACTIONS_WRITER, data.getGlobalActions());
+    }
+
+    private SimulationPairs(long[] pairHashes, long globalActionsHash) {
+        this.simulation = null;
+        this.pairs = Collections.emptyList();
+        this.pairHashes = pairHashes;
+        this.globalActionsHash = globalActionsHash;
+    }
+
+    static SimulationPairs of(Simulation simulation) {
+        return new SimulationPairs(simulation);
+    }
+
+    /**
+     * @param imported the pairs of the simulation imported before, or null if unknown
+     * @return a simulation with the pairs added since the imported simulation, or empty if this simulation does not start
+     * with the imported pairs in the same order or has different global actions, in which case it has to replace the
+     * imported simulation
+     */
+    Optional<Simulation> findAdditions(SimulationPairs imported) {
+        if (imported == null || imported.globalActionsHash != globalActionsHash || imported.pairHashes.length > pairHashes.length) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < imported.pairHashes.length; i++) {
+            if (imported.pairHashes[i] != pairHashes[i]) {
+                return Optional.empty();
+            }
+        }
+        HoverflyData additions = new HoverflyData(new LinkedHashSet<>(pairs.subList(imported.pairHashes.length, pairs.size())),
+                new GlobalActions(Collections.emptyList()));
+        return Optional.of(new Simulation(additions, simulation.getHoverflyMetaData()));
+    }
+
+    /**
+     * @return the hashes alone, so that the pairs of an imported simulation are not kept in memory
+     */
+    SimulationPairs withoutPairs() {
+        return new SimulationPairs(pairHashes, globalActionsHash);
+    }
+
+    private static long hash(ObjectWriter writer, Object value) {
+        HashingOutputStream out = new HashingOutputStream();
+        try {
+            writer.writeValue(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.hash;
+    }
+
+    private static class HashingOutputStream extends OutputStream {
+
+        private long hash = FNV_OFFSET_BASIS;
+
+        @Override
+        public void write(int b) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                hash = (hash ^ (bytes[i] & 0xff)) * FNV_PRIME;
+            }
+        }
+    }
+}
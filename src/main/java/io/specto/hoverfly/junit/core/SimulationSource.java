@@ -4,7 +4,6 @@ import io.specto.hoverfly.junit.core.model.*;
 import io.specto.hoverfly.junit.dsl.HoverflyDsl;
 import io.specto.hoverfly.junit.dsl.StubServiceBuilder;
 
-import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,13 +30,7 @@ public interface SimulationSource {
      * @return the resource
      */
     static SimulationSource url(final URL url) {
-        return () -> {
-            try (InputStream is = url.openStream()) {
-                return convertStreamToString(is);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Cannot read simulation", e);
-            }
-        };
+        return new InputStreamSimulationSource(url::openStream, "Cannot read simulation");
     }
 
     /**
@@ -47,13 +40,7 @@ public interface SimulationSource {
      * @return the resource
      */
     static SimulationSource url(final String url) {
-        return () -> {
-            try (InputStream is = new URL(url).openStream()) {
-                return convertStreamToString(is);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Cannot read simulation", e);
-            }
-        };
+        return new InputStreamSimulationSource(() -> new URL(url).openStream(), "Cannot read simulation");
     }
 
     /**
@@ -63,13 +50,8 @@ public interface SimulationSource {
      * @return the resource
      */
     static SimulationSource classpath(final String classpath) {
-        return () -> {
-            try (InputStream is = getClasspathResourceAsStream(classpath)) {
-                return convertStreamToString(is);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Cannot load classpath resource: '" + classpath + "'", e);
-            }
-        };
+        return new InputStreamSimulationSource(() -> getClasspathResourceAsStream(classpath),
+                "Cannot load classpath resource: '" + classpath + "'");
     }
 
     /**
@@ -78,14 +60,9 @@ public interface SimulationSource {
      * @return the resource
      */
     static SimulationSource defaultPath(String pathString) {
-        return () -> {
-            final String fullClasspath = HoverflyConstants.DEFAULT_HOVERFLY_RESOURCE_DIR + "/" + pathString;
-            try (InputStream is = getClasspathResourceAsStream(fullClasspath)) {
-                return convertStreamToString(is);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Cannot load default path resource: '" + pathString + "'", e);
-            }
-        };
+        final String fullClasspath = HoverflyConstants.DEFAULT_HOVERFLY_RESOURCE_DIR + "/" + pathString;
+        return new InputStreamSimulationSource(() -> getClasspathResourceAsStream(fullClasspath),
+                "Cannot load default path resource: '" + pathString + "'");
     }
 
     /**
@@ -95,13 +72,35 @@ public interface SimulationSource {
      * @return the resource
      */
     static SimulationSource file(final Path path) {
-        return () -> {
-            try(InputStream is = Files.newInputStream(path)) {
-                return convertStreamToString(is);
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Cannot load file resource: '" + path.toString() + "'", e);
-            }
-        };
+        return new InputStreamSimulationSource(() -> Files.newInputStream(path),
+                "Cannot load file resource: '" + path.toString() + "'");
+    }
+
+    /**
+     * Creates a simulation by merging the pairs and global delays of the simulation files in a directory. The files
+     * whose path relative to the directory matches the glob are read and parsed concurrently, eg. {@code "*.json"} for
+     * the files in the directory or {@code "**.json"} to include its subdirectories. The merged simulation is cached,
+     * and only loaded again when matching files are added, removed or modified.
+     *
+     * @param directory the directory of the simulation files
+     * @param glob the glob of the simulation files
+     * @return the resource
+     */
+    static SimulationSource directory(final Path directory, final String glob) {
+        return DirectorySimulationSource.directory(directory, glob);
+    }
+
+    /**
+     * Creates a simulation by merging the pairs and global delays of the simulation files in a classpath directory,
+     * which may be in a jar
+     *
+     * @param classpath the classpath of the directory
+     * @param glob the glob of the simulation files, relative to the directory
+     * @return the resource
+     * @see #directory(Path, String)
+     */
+    static SimulationSource classpathDirectory(final String classpath, final String glob) {
+        return DirectorySimulationSource.classpathDirectory(classpath, glob);
     }
 
     /**
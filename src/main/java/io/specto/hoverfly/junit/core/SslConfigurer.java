@@ -1,5 +1,8 @@
 package io.specto.hoverfly.junit.core;
 
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import org.apache.commons.lang3.StringUtils;
+
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
@@ -17,7 +20,9 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.specto.hoverfly.junit.core.HoverflyUtils.findResourceOnClasspath;
 
@@ -31,6 +36,9 @@ public class SslConfigurer {
     private static final URL DEFAULT_HOVERFLY_CUSTOM_CA_CERT = findResourceOnClasspath("cert.pem");
     private static final SSLSocketFactory DEFAULT_SSL_SOCKET_FACTORY = HttpsURLConnection.getDefaultSSLSocketFactory();
 
+    // SSL contexts by certificate URL, shared by every instance so that the trust stores are only loaded once per JVM
+    private static final Map<String, CachedSslContext> SSL_CONTEXT_CACHE = new ConcurrentHashMap<>();
+
     private SSLContext sslContext;
     private TrustManager[] trustManagers;
 
@@ -60,6 +68,19 @@ public class SslConfigurer {
         HttpsURLConnection.setDefaultSSLSocketFactory(DEFAULT_SSL_SOCKET_FACTORY);
     }
 
+    /**
+     * Sets the JVM trust store so the CA certificate of the given Hoverfly configuration is trusted
+     */
+    void setDefaultSslContext(HoverflyConfiguration hoverflyConfig) {
+        if (hoverflyConfig.getProxyCaCertificate().isPresent()) {
+            setDefaultSslContext(hoverflyConfig.getProxyCaCertificate().get());
+        } else if (StringUtils.isNotBlank(hoverflyConfig.getSslCertificatePath())) {
+            setDefaultSslContext(hoverflyConfig.getSslCertificatePath());
+        } else {
+            setDefaultSslContext();
+        }
+    }
+
     void setDefaultSslContext() {
         setDefaultSslContext(DEFAULT_HOVERFLY_CUSTOM_CA_CERT);
     }
@@ -71,16 +92,38 @@ public class SslConfigurer {
         setDefaultSslContext(findResourceOnClasspath(pemFilename));
     }
 
-    private void setDefaultSslContext(URL pemFile) {
+    private synchronized void setDefaultSslContext(URL pemFile) {
+        prepareSslContext(pemFile);
+
+        SSLContext.setDefault(sslContext);
+        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+    }
+
+    void prepareDefaultSslContext() {
+        prepareSslContext(DEFAULT_HOVERFLY_CUSTOM_CA_CERT);
+    }
+
+    /**
+     * Builds the SSL context trusting Hoverfly's CA certificate without installing it, so that the work can be done
+     * while Hoverfly is starting
+     */
+    void prepareDefaultSslContext(String pemFilename) {
+        prepareSslContext(findResourceOnClasspath(pemFilename));
+    }
+
+    private synchronized void prepareSslContext(URL pemFile) {
+        CachedSslContext cachedSslContext = SSL_CONTEXT_CACHE.computeIfAbsent(pemFile.toExternalForm(), key -> loadSslContext(pemFile));
+        trustManagers = cachedSslContext.trustManagers;
+        sslContext = cachedSslContext.sslContext;
+    }
+
+    private static CachedSslContext loadSslContext(URL pemFile) {
         try (InputStream pemInputStream = pemFile.openStream()) {
 
             KeyStore keyStore = createKeyStore(pemInputStream);
-            trustManagers = createTrustManagers(keyStore);
-
-            sslContext = createSslContext(trustManagers);
+            TrustManager[] trustManagers = createTrustManagers(keyStore);
 
-            SSLContext.setDefault(sslContext);
-            HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+            return new CachedSslContext(createSslContext(trustManagers), trustManagers);
         } catch (Exception e) {
             throw new IllegalStateException("Failed to import Hoverfly certificate '" + pemFile.toString() + "' into keystore", e);
         }
@@ -101,12 +144,11 @@ public class SslConfigurer {
     /**
      * Create custom trust manager that verify server authenticity using both default JVM trust store and hoverfly default trust store
      */
-    private TrustManager[] createTrustManagers(KeyStore hoverflyKeyStore) throws NoSuchAlgorithmException, KeyStoreException {
-        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        // initialize a trust manager factory with default key store
-        X509TrustManager defaultTm = getTrustManager(tmf, null);
+    private static TrustManager[] createTrustManagers(KeyStore hoverflyKeyStore) throws NoSuchAlgorithmException, KeyStoreException {
+        X509TrustManager defaultTm = DefaultTrustManagerHolder.getDefaultTrustManager();
 
         // initialize a trust manager factory with hoverfly key store
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
         X509TrustManager hoverflyTm = getTrustManager(tmf, hoverflyKeyStore);
 
         X509TrustManager customTm = new X509TrustManager() {
@@ -132,13 +174,13 @@ public class SslConfigurer {
         return new TrustManager[] { customTm };
     }
 
-    private SSLContext createSslContext(TrustManager[] trustManagers) throws NoSuchAlgorithmException, KeyManagementException {
+    private static SSLContext createSslContext(TrustManager[] trustManagers) throws NoSuchAlgorithmException, KeyManagementException {
         SSLContext sslContext = SSLContext.getInstance(TLS_PROTOCOL);
         sslContext.init(null, trustManagers, null);
         return sslContext;
     }
 
-    private X509TrustManager getTrustManager(TrustManagerFactory trustManagerFactory, KeyStore keyStore) throws KeyStoreException {
+    private static X509TrustManager getTrustManager(TrustManagerFactory trustManagerFactory, KeyStore keyStore) throws KeyStoreException {
         trustManagerFactory.init(keyStore);
 
         TrustManager[] trustManagers = trustManagerFactory.getTrustManagers();
@@ -149,4 +191,34 @@ public class SslConfigurer {
                     .findFirst()
                     .orElseThrow(IllegalStateException::new);
     }
+
+    private static class CachedSslContext {
+        private final SSLContext sslContext;
+        private final TrustManager[] trustManagers;
+
+        private CachedSslContext(SSLContext sslContext, TrustManager[] trustManagers) {
+            this.sslContext = sslContext;
+            this.trustManagers = trustManagers;
+        }
+    }
+
+    /**
+     * Loads the default JVM trust store on first use only
+     */
+    private static class DefaultTrustManagerHolder {
+        private static final X509TrustManager DEFAULT_TRUST_MANAGER = createDefaultTrustManager();
+
+        private static X509TrustManager getDefaultTrustManager() {
+            return DEFAULT_TRUST_MANAGER;
+        }
+
+        private static X509TrustManager createDefaultTrustManager() {
+            try {
+                // initialize a trust manager factory with default key store
+                return getTrustManager(TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm()), null);
+            } catch (NoSuchAlgorithmException | KeyStoreException e) {
+                throw new IllegalStateException("Failed to load the default trust store", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package io.specto.hoverfly.junit.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code OutputStream} that passes the Hoverfly process output through to another stream, and watches it for the
+ * lines telling that the admin interface is starting or that Hoverfly has failed to start. Once either is seen, the
+ * output is no longer scanned.
+ */
+class StartupSignalOutputStream extends OutputStream {
+
+    private static final String ADMIN_STARTING_MESSAGE = "Admin interface is starting";
+    private static final String PORT_IN_USE_MESSAGE = "address already in use";
+    private static final String[] FAILURE_MESSAGES = {PORT_IN_USE_MESSAGE, "\"level\":\"fatal\"", "level=fatal", "FATA["};
+    private static final int MAX_LINE_LENGTH = 8192;
+
+    private final OutputStream delegate;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private final CountDownLatch signal = new CountDownLatch(1);
+    private volatile boolean started;
+    private volatile String failure;
+
+    StartupSignalOutputStream(OutputStream delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Waits until the admin interface is starting or Hoverfly has failed to start
+     *
+     * @return true if the admin interface is starting
+     */
+    boolean awaitStarted(long timeout, TimeUnit unit) throws InterruptedException {
+        signal.await(timeout, unit);
+        return started;
+    }
+
+    boolean isStarted() {
+        return started;
+    }
+
+    Optional<String> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    boolean isPortInUse() {
+        return failure != null && failure.contains(PORT_IN_USE_MESSAGE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        scan(b);
+        delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        for (int i = off; i < off + len && signal.getCount() > 0; i++) {
+            scan(b[i]);
+        }
+        delegate.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private void scan(int b) {
+        if (signal.getCount() == 0) {
+            return;
+        }
+        if (b == '\n') {
+            onLine(new String(line.toByteArray(), StandardCharsets.UTF_8));
+            line.reset();
+        } else if (line.size() < MAX_LINE_LENGTH) {
+            line.write(b);
+        }
+    }
+
+    private void onLine(String text) {
+        for (String failureMessage : FAILURE_MESSAGES) {
+            if (text.contains(failureMessage)) {
+                failure = text.trim();
+                signal.countDown();
+                return;
+            }
+        }
+        if (text.contains(ADMIN_STARTING_MESSAGE)) {
+            started = true;
+            signal.countDown();
+        }
+    }
+}
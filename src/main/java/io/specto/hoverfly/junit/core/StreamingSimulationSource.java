@@ -0,0 +1,17 @@
+package io.specto.hoverfly.junit.core;
+
+import java.io.InputStream;
+
+/**
+ * A {@link SimulationSource} that can be read as a stream of bytes, so that it can be uploaded to Hoverfly without
+ * being loaded into memory. The file, classpath, default path and URL sources are streaming sources.
+ */
+public interface StreamingSimulationSource extends SimulationSource {
+
+    /**
+     * Opens the simulation, which must be JSON encoded in UTF-8
+     *
+     * @return a new stream, which is closed by the caller
+     */
+    InputStream openStream();
+}
@@ -5,6 +5,7 @@ import static java.nio.file.attribute.PosixFilePermission.OWNER_EXECUTE;
 import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
 import static java.util.Arrays.asList;
 
+import io.specto.hoverfly.junit.core.SystemConfigFactory.OsName;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -18,7 +19,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manage temporary files for running hoverfly
+ * Manage temporary files for running hoverfly. The binary is taken from the {@link HoverflyBinaryCache} when possible,
+ * so only per-instance files such as certificates and middleware scripts are copied to the temporary directory.
  */
 class TempFileManager {
 
@@ -26,11 +28,25 @@ class TempFileManager {
     private static final String TEMP_DIR_PREFIX = "hoverfly.";
     private static final String HOVERFLY_BINARIES_ROOT_PATH = "binaries/";
     private Path tempDirectory;
+    private HoverflyBinaryCache binaryCache;
+
+    TempFileManager() {
+        this(HoverflyBinaryCache.defaultCacheRoot());
+    }
+
+    /**
+     * Create a manager using the given binary cache root, or copying the binary to the temporary directory if it is null
+     */
+    TempFileManager(Path binaryCacheRoot) {
+        if (binaryCacheRoot != null) {
+            this.binaryCache = new HoverflyBinaryCache(binaryCacheRoot);
+        }
+    }
 
     /**
      * Delete the hoverfly temporary directory recursively
      */
-    void purge() {
+    synchronized void purge() {
         if (tempDirectory == null) {
             return;
         }
@@ -61,25 +77,30 @@ class TempFileManager {
     }
 
     /**
-     * Extracts and runs the binary, setting any appropriate permissions.
+     * Extracts the binary, setting any appropriate permissions. The cached binary is reused if there is one, otherwise
+     * the binary is copied to the temporary directory.
      *
      */
     Path copyHoverflyBinary(SystemConfig systemConfig) {
         String binaryName = systemConfig.getHoverflyBinaryName();
         LOGGER.info("Selecting the following binary based on the current operating system: {}", binaryName);
+        String resourcePath = HOVERFLY_BINARIES_ROOT_PATH + binaryName;
+
+        if (binaryCache != null) {
+            try {
+                return binaryCache.getBinary(resourcePath, binaryName, systemConfig.getOsName());
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Failed to use the hoverfly binary cache in {}, falling back to the temporary directory.",
+                        binaryCache.getCacheRoot(), e);
+            }
+        }
+
         Path targetPath = getOrCreateTempDirectory().resolve(binaryName);
         LOGGER.info("Storing binary in temporary directory {}", targetPath);
 
-        try (InputStream resourceAsStream = HoverflyUtils.getClasspathResourceAsStream(HOVERFLY_BINARIES_ROOT_PATH + binaryName)) {
+        try (InputStream resourceAsStream = HoverflyUtils.getClasspathResourceAsStream(resourcePath)) {
             Files.copy(resourceAsStream, targetPath, StandardCopyOption.REPLACE_EXISTING);
-            if (systemConfig.getOsName() == WINDOWS) {
-                final File targetFile = targetPath.toFile();
-                targetFile.setExecutable(true);
-                targetFile.setReadable(true);
-                targetFile.setWritable(true);
-            } else {
-                Files.setPosixFilePermissions(targetPath, new HashSet<>(asList(OWNER_EXECUTE, OWNER_READ)));
-            }
+            setExecutablePermissions(targetPath, systemConfig.getOsName());
         } catch (IOException e) {
             throw new IllegalStateException("Failed to copy hoverfly binary.", e);
         }
@@ -90,14 +111,14 @@ class TempFileManager {
     /**
      * Return the temporary directory as Path
      */
-    Path getTempDirectory() {
+    synchronized Path getTempDirectory() {
         return tempDirectory;
     }
 
     /**
      * Get or create temporary directory
      */
-    private Path getOrCreateTempDirectory() {
+    synchronized Path getOrCreateTempDirectory() {
         if (tempDirectory == null) {
 
             try {
@@ -110,8 +131,23 @@ class TempFileManager {
         return tempDirectory;
     }
 
-    void setBinaryLocation(String binaryLocation) {
+    /**
+     * Use the given directory for the binary and working files, which also bypasses the binary cache
+     */
+    synchronized void setBinaryLocation(String binaryLocation) {
         this.tempDirectory = Paths.get(binaryLocation).toAbsolutePath();
+        this.binaryCache = null;
+    }
+
+    static void setExecutablePermissions(Path path, OsName osName) throws IOException {
+        if (osName == WINDOWS) {
+            final File targetFile = path.toFile();
+            targetFile.setExecutable(true);
+            targetFile.setReadable(true);
+            targetFile.setWritable(true);
+        } else {
+            Files.setPosixFilePermissions(path, new HashSet<>(asList(OWNER_EXECUTE, OWNER_READ)));
+        }
     }
 
 }
@@ -8,7 +8,10 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -16,6 +19,11 @@ import java.util.Optional;
  */
 class HoverflyConfigValidator {
 
+    private static final int MAX_RECENTLY_ASSIGNED_PORTS = 1024;
+    private static final int MAX_PORT_LOOKUP_ATTEMPTS = 20;
+
+    // Ports handed out recently in this JVM, which are not bound until the Hoverfly process starts
+    private static final Set<Integer> RECENTLY_ASSIGNED_PORTS = new LinkedHashSet<>();
 
     /**
      * Sanity checking hoverfly configs and assign port number if necessary
@@ -55,14 +63,26 @@ class HoverflyConfigValidator {
                 throw new IllegalArgumentException("Both client cert and key files are required to enable mutual TLS authentication.");
             }
 
+            // Validate daemon mode
+            if (hoverflyConfig.isDaemon()) {
+                if (hoverflyConfig.isProcessShared()) {
+                    throw new IllegalArgumentException("Hoverfly daemon mode cannot be combined with a shared process.");
+                }
+                if (hoverflyConfig.getDaemonIdleTimeout().get().isNegative() || hoverflyConfig.getDaemonIdleTimeout().get().isZero()) {
+                    throw new IllegalArgumentException("Hoverfly daemon idle timeout must be positive.");
+                }
+            }
+
             // Validate proxy port
             if (hoverflyConfig.getProxyPort() == 0) {
                 hoverflyConfig.setProxyPort(findUnusedPort());
+                hoverflyConfig.setDynamicProxyPort(true);
             }
 
             // Validate admin port
             if (hoverflyConfig.getAdminPort() == 0) {
                 hoverflyConfig.setAdminPort(findUnusedPort());
+                hoverflyConfig.setDynamicAdminPort(true);
             }
         }
 
@@ -76,9 +96,30 @@ class HoverflyConfigValidator {
 
 
     /**
-     * Looks for an unused port on the current machine
+     * Looks for an unused port on the current machine. A port is not handed out again while it is among the recently
+     * assigned ones, so that Hoverfly instances starting concurrently in the same JVM do not get the same port.
      */
-    private static int findUnusedPort() {
+    static int findUnusedPort() {
+        synchronized (RECENTLY_ASSIGNED_PORTS) {
+            int port = 0;
+            for (int attempt = 0; attempt < MAX_PORT_LOOKUP_ATTEMPTS; attempt++) {
+                port = bindUnusedPort();
+                if (!RECENTLY_ASSIGNED_PORTS.contains(port)) {
+                    break;
+                }
+            }
+            RECENTLY_ASSIGNED_PORTS.remove(port);
+            RECENTLY_ASSIGNED_PORTS.add(port);
+            if (RECENTLY_ASSIGNED_PORTS.size() > MAX_RECENTLY_ASSIGNED_PORTS) {
+                Iterator<Integer> oldest = RECENTLY_ASSIGNED_PORTS.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            return port;
+        }
+    }
+
+    private static int bindUnusedPort() {
         try (final ServerSocket serverSocket = new ServerSocket(0)) {
             return serverSocket.getLocalPort();
         } catch (IOException e) {
@@ -4,6 +4,7 @@ import io.specto.hoverfly.junit.core.Hoverfly;
 import io.specto.hoverfly.junit.core.SimulationPreprocessor;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +46,12 @@ public class HoverflyConfiguration {
     private String clientKeyPath;
     private String clientAuthDestination;
     private String clientCaCertPath;
+    private boolean processShared;
+    private Duration daemonIdleTimeout;
+    private boolean dynamicProxyPort;
+    private boolean dynamicAdminPort;
+    private boolean gzipCompression;
+    private boolean incrementalSimulation;
 
     /**
      * Create configurations for external hoverfly
@@ -227,6 +234,77 @@ public class HoverflyConfiguration {
         this.tlsVerificationDisabled = tlsVerificationDisabled;
     }
 
+    public boolean isProcessShared() {
+        return processShared;
+    }
+
+    public void setProcessShared(boolean processShared) {
+        this.processShared = processShared;
+    }
+
+    public boolean isDaemon() {
+        return daemonIdleTimeout != null;
+    }
+
+    public Optional<Duration> getDaemonIdleTimeout() {
+        return Optional.ofNullable(daemonIdleTimeout);
+    }
+
+    public void setDaemonIdleTimeout(Duration daemonIdleTimeout) {
+        this.daemonIdleTimeout = daemonIdleTimeout;
+    }
+
+    public boolean isGzipCompression() {
+        return gzipCompression;
+    }
+
+    public void setGzipCompression(boolean gzipCompression) {
+        this.gzipCompression = gzipCompression;
+    }
+
+    public boolean isIncrementalSimulation() {
+        return incrementalSimulation;
+    }
+
+    public void setIncrementalSimulation(boolean incrementalSimulation) {
+        this.incrementalSimulation = incrementalSimulation;
+    }
+
+    /**
+     * @return true if the proxy port was not configured and has been assigned randomly
+     */
+    public boolean isDynamicProxyPort() {
+        return dynamicProxyPort;
+    }
+
+    void setDynamicProxyPort(boolean dynamicProxyPort) {
+        this.dynamicProxyPort = dynamicProxyPort;
+    }
+
+    /**
+     * @return true if the admin port was not configured and has been assigned randomly
+     */
+    public boolean isDynamicAdminPort() {
+        return dynamicAdminPort;
+    }
+
+    void setDynamicAdminPort(boolean dynamicAdminPort) {
+        this.dynamicAdminPort = dynamicAdminPort;
+    }
+
+    /**
+     * Assigns new random ports in place of the ones that were not configured, eg. when another process has taken one of
+     * them before Hoverfly could bind it
+     */
+    public void reassignDynamicPorts() {
+        if (dynamicProxyPort) {
+            setProxyPort(HoverflyConfigValidator.findUnusedPort());
+        }
+        if (dynamicAdminPort) {
+            setAdminPort(HoverflyConfigValidator.findUnusedPort());
+        }
+    }
+
     public boolean isPlainHttpTunneling() {
         return plainHttpTunneling;
     }
@@ -15,6 +15,7 @@ package io.specto.hoverfly.junit.core.config;
 import io.specto.hoverfly.junit.core.Hoverfly;
 import io.specto.hoverfly.junit.core.HoverflyConfig;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,6 +27,8 @@ import org.slf4j.LoggerFactory;
  */
 public class LocalHoverflyConfig extends HoverflyConfig {
 
+    private static final Duration DEFAULT_DAEMON_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
     private String caCertPath;
     private String caKeyPath;
     private boolean tlsVerificationDisabled;
@@ -40,6 +43,9 @@ public class LocalHoverflyConfig extends HoverflyConfig {
     private String clientKeyPath;
     private String clientAuthDestination;
     private String clientCaCertPath;
+    private boolean processShared;
+    private Duration daemonIdleTimeout;
+    private boolean incrementalSimulation;
 
     /**
      * Sets the certificate file to override the default Hoverfly's CA cert
@@ -107,6 +113,50 @@ public class LocalHoverflyConfig extends HoverflyConfig {
         return this;
     }
 
+    /**
+     * Share the Hoverfly process with other {@link Hoverfly} instances in the same JVM that have an equivalent configuration.
+     * The process is reset instead of being stopped when the instance is closed, and it is stopped when the JVM exits.
+     * This saves the process startup time in test suites with many test classes.
+     * @return the {@link LocalHoverflyConfig} for further customizations
+     */
+    public LocalHoverflyConfig shareProcess() {
+        this.processShared = true;
+        return this;
+    }
+
+    /**
+     * By default every simulation replaces the whole simulation in Hoverfly. Enable this option to only upload the pairs
+     * which a simulation adds to the one imported before it, eg. a few pairs added by a test to a large baseline simulation.
+     * The simulation is still replaced when pairs were removed, reordered or changed, or global actions changed.
+     * Simulations are always parsed in this mode, and it has no effect on a shared or daemon process.
+     * @return the {@link LocalHoverflyConfig} for further customizations
+     */
+    public LocalHoverflyConfig enableIncrementalSimulation() {
+        this.incrementalSimulation = true;
+        return this;
+    }
+
+    /**
+     * Run Hoverfly as a daemon which outlives the JVM, so that later test runs with the same configuration attach to it
+     * instead of starting a new process. The daemon stops once it has not been used for 10 minutes.
+     * JVMs running at the same time share the daemon, which is only reset when the last of them closes Hoverfly.
+     * @return the {@link LocalHoverflyConfig} for further customizations
+     */
+    public LocalHoverflyConfig asDaemon() {
+        return asDaemon(DEFAULT_DAEMON_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Run Hoverfly as a daemon which outlives the JVM, so that later test runs with the same configuration attach to it
+     * instead of starting a new process
+     * @param idleTimeout how long the daemon keeps running when no JVM is using it
+     * @return the {@link LocalHoverflyConfig} for further customizations
+     */
+    public LocalHoverflyConfig asDaemon(Duration idleTimeout) {
+        this.daemonIdleTimeout = idleTimeout;
+        return this;
+    }
+
     /**
      * Set upstream proxy for hoverfly to connect to target host
      * @param proxyAddress socket address of the upstream proxy, eg. 127.0.0.1:8500
@@ -218,6 +268,9 @@ public class LocalHoverflyConfig extends HoverflyConfig {
         configs.setClientKeyPath(clientKeyPath);
         configs.setClientAuthDestination(clientAuthDestination);
         configs.setClientCaCertPath(clientCaCertPath);
+        configs.setProcessShared(processShared);
+        configs.setDaemonIdleTimeout(daemonIdleTimeout);
+        configs.setIncrementalSimulation(incrementalSimulation);
         HoverflyConfigValidator validator = new HoverflyConfigValidator();
         return validator.validate(configs);
     }
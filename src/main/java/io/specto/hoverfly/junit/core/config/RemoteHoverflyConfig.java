@@ -16,6 +16,7 @@ public class RemoteHoverflyConfig extends HoverflyConfig {
     private String scheme;
     private String authToken;
     private String adminCertificate; // file name relative to test resources folder
+    private boolean gzipCompression;
 
 
     /**
@@ -59,6 +60,15 @@ public class RemoteHoverflyConfig extends HoverflyConfig {
         return this;
     }
 
+    /**
+     * Compresses the simulations sent to the remote Hoverfly with gzip, falling back to plain JSON if it does not accept them
+     * @return the {@link RemoteHoverflyConfig} for further customizations
+     */
+    public RemoteHoverflyConfig withGzipCompression() {
+        this.gzipCompression = true;
+        return this;
+    }
+
     // TODO add support for custom server certificate for admin endpoint
 
     @Override
@@ -72,6 +82,7 @@ public class RemoteHoverflyConfig extends HoverflyConfig {
         HoverflyConfiguration configs = new HoverflyConfiguration(scheme, host, proxyPort, adminPort, proxyLocalHost,
                 destination, proxyCaCert, authToken, adminCertificate, captureHeaders, webServer, statefulCapture, incrementalCapture,
                 simulationPreprocessor);
+        configs.setGzipCompression(gzipCompression);
         HoverflyConfigValidator validator = new HoverflyConfigValidator();
         return validator.validate(configs);
     }
@@ -0,0 +1,15 @@
+package io.specto.hoverfly.junit.core.matching;
+
+/**
+ * A {@link io.specto.hoverfly.junit.core.model.RequestFieldMatcher} compiled by {@link FieldMatcherCompiler}, which
+ * matches request field values in the JVM the same way as Hoverfly does. It is safe to use from multiple threads.
+ */
+@FunctionalInterface
+public interface CompiledFieldMatcher {
+
+    /**
+     * @param value the request field value, eg. the path or the body
+     * @return whether the value matches
+     */
+    boolean matches(String value);
+}
@@ -0,0 +1,310 @@
+package io.specto.hoverfly.junit.core.matching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import org.w3c.dom.NodeList;
+
+/**
+ * Compiles {@link RequestFieldMatcher}s so that they can match request field values in the JVM the same way as Hoverfly
+ * does. The matcher values are compiled once: regexes and globs into patterns, JSON values into trees, and JSONPath and
+ * XPath expressions ahead of evaluation. Compiled matchers are cached by matcher type and value, and by matcher instance
+ * with {@link RequestFieldMatcher#compile()}.
+ */
+public final class FieldMatcherCompiler {
+
+    // The cache is cleared when it is full, rather than evicting the least recently used matchers
+    private static final int MAX_CACHED_MATCHERS = 10_000;
+    private static final Map<CacheKey, Optional<CompiledFieldMatcher>> CACHE = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getDefaultObjectMapper();
+
+    // Only the JSONPath expressions which select a single node by field names and array indexes can be evaluated locally
+    private static final Pattern SIMPLE_JSON_PATH = Pattern.compile("\\$((\\.[A-Za-z_][\\w-]*)|(\\[\\d{1,9}])|(\\['[^']*']))*");
+    private static final Pattern JSON_PATH_SEGMENT = Pattern.compile("\\.([A-Za-z_][\\w-]*)|\\[(\\d{1,9})]|\\['([^']*)']");
+
+    // Numbers are compared by value, as Hoverfly reads 1 and 1.0 as the same number
+    private static final Comparator<JsonNode> JSON_VALUE_COMPARATOR = (expected, actual) -> {
+        if (expected.isNumber() && actual.isNumber()) {
+            return expected.decimalValue().compareTo(actual.decimalValue());
+        }
+        return expected.equals(actual) ? 0 : 1;
+    };
+
+    private FieldMatcherCompiler() {
+    }
+
+    /**
+     * @param matcherType the type of matcher
+     * @param value       the matcher value
+     * @return the compiled matcher, or empty if it can only be evaluated by Hoverfly, eg. because its regex uses a syntax
+     * which Java does not read the same way as Hoverfly
+     */
+    public static Optional<CompiledFieldMatcher> compile(MatcherType matcherType, Object value) {
+        if (matcherType == null || !(value instanceof String)) {
+            return Optional.empty();
+        }
+        CacheKey key = new CacheKey(matcherType, (String) value);
+        Optional<CompiledFieldMatcher> compiled = CACHE.get(key);
+        if (compiled == null) {
+            compiled = doCompile(matcherType, (String) value);
+            if (CACHE.size() >= MAX_CACHED_MATCHERS) {
+                CACHE.clear();
+            }
+            CACHE.putIfAbsent(key, compiled);
+        }
+        return compiled;
+    }
+
+    private static Optional<CompiledFieldMatcher> doCompile(MatcherType matcherType, String value) {
+        switch (matcherType) {
+            case EXACT:
+                return Optional.of(value::equals);
+            case GLOB:
+                Pattern glob = globPattern(value);
+                return Optional.of(actual -> glob.matcher(actual).matches());
+            case REGEX:
+                return compileRegex(value).map(regex -> actual -> regex.matcher(actual).find());
+            case JSON:
+                return parseJson(value).map(FieldMatcherCompiler::jsonEquals);
+            case JSONPARTIAL:
+                return parseJson(value).map(FieldMatcherCompiler::jsonContains);
+            case JSONPATH:
+                return compileJsonPath(value);
+            case XML:
+                return XmlDocuments.canonicalize(value).map(FieldMatcherCompiler::xmlEquals);
+            case XPATH:
+                return compileXpath(value);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Pattern globPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int wildcard;
+        while ((wildcard = glob.indexOf('*', start)) >= 0) {
+            regex.append(Pattern.quote(glob.substring(start, wildcard))).append(".*");
+            start = wildcard + 1;
+        }
+        regex.append(Pattern.quote(glob.substring(start)));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    // Hoverfly uses the RE2 syntax, which Java only reads the same way for a common subset. The dot only excludes a line
+    // feed in RE2, as it does in Java with UNIX_LINES.
+    private static Optional<Pattern> compileRegex(String regex) {
+        if (!isPortableRegex(regex)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Pattern.compile(regex, Pattern.UNIX_LINES));
+        } catch (PatternSyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether the regex only uses literals, escaped punctuation, the ASCII classes, character classes, groups, alternations
+     * and greedy or lazy quantifiers. Anchors, flags, lookarounds, possessive quantifiers, backreferences, Unicode and POSIX
+     * classes, and the other escapes are left to Hoverfly, as Java either does not support them or reads them differently.
+     */
+    private static boolean isPortableRegex(String regex) {
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (++i == regex.length() || !isPortableEscape(regex.charAt(i))) {
+                    return false;
+                }
+            } else if (inClass) {
+                if (c == '[' || (c == '&' && i + 1 < regex.length() && regex.charAt(i + 1) == '&')) {
+                    return false;
+                }
+                // A closing bracket right after the opening one, or its negation, is a literal
+                inClass = c != ']' || regex.charAt(i - 1) == '[' || (regex.charAt(i - 1) == '^' && regex.charAt(i - 2) == '[');
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '^' || c == '$') {
+                return false;
+            } else if (c == '(' && i + 1 < regex.length() && regex.charAt(i + 1) == '?'
+                    && !(i + 2 < regex.length() && regex.charAt(i + 2) == ':')) {
+                return false;
+            } else if ((c == '*' || c == '+' || c == '?' || c == '}') && i + 1 < regex.length() && regex.charAt(i + 1) == '+') {
+                return false;
+            }
+        }
+        return !inClass;
+    }
+
+    private static boolean isPortableEscape(char c) {
+        return !Character.isLetterOrDigit(c) || "dDwWtnrf".indexOf(c) >= 0;
+    }
+
+    private static CompiledFieldMatcher jsonEquals(JsonNode expected) {
+        return actual -> readJson(actual)
+                .map(actualNode -> expected.equals(JSON_VALUE_COMPARATOR, actualNode))
+                .orElse(false);
+    }
+
+    private static CompiledFieldMatcher jsonContains(JsonNode expected) {
+        return actual -> readJson(actual)
+                .map(actualNode -> containsJson(expected, actualNode))
+                .orElse(false);
+    }
+
+    private static boolean containsJson(JsonNode expected, JsonNode actual) {
+        if (expected.isObject()) {
+            if (!actual.isObject()) {
+                return false;
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode actualField = actual.get(field.getKey());
+                if (actualField == null || !containsJson(field.getValue(), actualField)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected.isArray()) {
+            if (!actual.isArray()) {
+                return false;
+            }
+            for (JsonNode expectedElement : expected) {
+                boolean found = false;
+                for (JsonNode actualElement : actual) {
+                    if (containsJson(expectedElement, actualElement)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return JSON_VALUE_COMPARATOR.compare(expected, actual) == 0;
+    }
+
+    private static Optional<CompiledFieldMatcher> compileJsonPath(String jsonPath) {
+        if (!SIMPLE_JSON_PATH.matcher(jsonPath).matches()) {
+            return Optional.empty();
+        }
+        List<Object> segments = new ArrayList<>();
+        Matcher matcher = JSON_PATH_SEGMENT.matcher(jsonPath);
+        while (matcher.find()) {
+            if (matcher.group(2) != null) {
+                segments.add(Integer.parseInt(matcher.group(2)));
+            } else {
+                segments.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(3));
+            }
+        }
+        return Optional.of(actual -> readJson(actual)
+                .map(node -> {
+                    for (Object segment : segments) {
+                        node = segment instanceof Integer ? node.get((Integer) segment) : node.get((String) segment);
+                        if (node == null) {
+                            return false;
+                        }
+                    }
+                    return !node.isNull();
+                })
+                .orElse(false));
+    }
+
+    private static Optional<JsonNode> parseJson(String json) {
+        if (json.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return readJson(json);
+    }
+
+    private static Optional<JsonNode> readJson(String json) {
+        try {
+            return Optional.ofNullable(OBJECT_MAPPER.readTree(json)).filter(node -> !node.isMissingNode());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static CompiledFieldMatcher xmlEquals(String expected) {
+        return actual -> XmlDocuments.canonicalize(actual)
+                .map(expected::equals)
+                .orElse(false);
+    }
+
+    private static Optional<CompiledFieldMatcher> compileXpath(String xpath) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(xpath);
+        } catch (XPathExpressionException e) {
+            return Optional.empty();
+        }
+        // Compiled expressions are not thread safe, so each thread compiles its own
+        ThreadLocal<XPathExpression> expression = ThreadLocal.withInitial(() -> {
+            try {
+                return XPathFactory.newInstance().newXPath().compile(xpath);
+            } catch (XPathExpressionException e) {
+                throw new IllegalStateException("Failed to compile XPath expression " + xpath, e);
+            }
+        });
+        return Optional.of(actual -> XmlDocuments.parse(actual)
+                .map(document -> {
+                    try {
+                        return ((NodeList) expression.get().evaluate(document, XPathConstants.NODESET)).getLength() > 0;
+                    } catch (XPathExpressionException e) {
+                        return false;
+                    }
+                })
+                .orElse(false));
+    }
+
+    private static final class CacheKey {
+
+        private final MatcherType matcherType;
+        private final String value;
+
+        private CacheKey(MatcherType matcherType, String value) {
+            this.matcherType = matcherType;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return matcherType == cacheKey.matcherType && value.equals(cacheKey.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(matcherType, value);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.specto.hoverfly.junit.core.matching;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parses XML request bodies with a document builder per thread, as building one is expensive and they are not thread safe
+ */
+class XmlDocuments {
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal.withInitial(XmlDocuments::newDocumentBuilder);
+
+    private XmlDocuments() {
+    }
+
+    static Optional<Document> parse(String xml) {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        builder.reset();
+        builder.setErrorHandler(new DefaultHandler());
+        try {
+            Document document = builder.parse(new InputSource(new StringReader(xml)));
+            removeWhitespaceText(document.getDocumentElement());
+            return Optional.of(document);
+        } catch (SAXException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the document in a canonical form, with the attributes in order and without the whitespace between elements,
+     * so that equivalent documents can be compared as strings
+     */
+    static Optional<String> canonicalize(String xml) {
+        return parse(xml).map(document -> {
+            StringBuilder sb = new StringBuilder(xml.length());
+            writeCanonical(document.getDocumentElement(), sb);
+            return sb.toString();
+        });
+    }
+
+    private static void writeCanonical(Node node, StringBuilder sb) {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                sb.append('<').append(node.getNodeName());
+                NamedNodeMap attributes = node.getAttributes();
+                Attr[] sortedAttributes = new Attr[attributes.getLength()];
+                for (int i = 0; i < sortedAttributes.length; i++) {
+                    sortedAttributes[i] = (Attr) attributes.item(i);
+                }
+                Arrays.sort(sortedAttributes, Comparator.comparing(Attr::getName));
+                for (Attr attribute : sortedAttributes) {
+                    sb.append(' ').append(attribute.getName()).append("=\"");
+                    escape(attribute.getValue(), sb);
+                    sb.append('"');
+                }
+                sb.append('>');
+                for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    writeCanonical(child, sb);
+                }
+                sb.append("</").append(node.getNodeName()).append('>');
+                break;
+            case Node.TEXT_NODE:
+            case Node.CDATA_SECTION_NODE:
+                escape(node.getNodeValue(), sb);
+                break;
+            default:
+                // Comments and processing instructions do not affect the match
+                break;
+        }
+    }
+
+    private static void escape(String value, StringBuilder sb) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    // Hoverfly compares XML documents regardless of the whitespace between elements
+    private static void removeWhitespaceText(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.TEXT_NODE && child.getTextContent().trim().isEmpty()) {
+                node.removeChild(child);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                removeWhitespaceText(child);
+            }
+            child = next;
+        }
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setIgnoringComments(true);
+            factory.setCoalescing(true);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to create an XML document builder", e);
+        }
+    }
+}
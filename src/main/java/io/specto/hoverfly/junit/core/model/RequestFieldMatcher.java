@@ -1,6 +1,9 @@
 package io.specto.hoverfly.junit.core.model;
 
 import com.fasterxml.jackson.annotation.*;
+import io.specto.hoverfly.junit.core.matching.CompiledFieldMatcher;
+import io.specto.hoverfly.junit.core.matching.FieldMatcherCompiler;
+import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -15,6 +18,9 @@ public class RequestFieldMatcher<T> {
     private MatcherType matcher;
     private T value;
 
+    // Compiled on first use, and reset when the matcher changes
+    private transient volatile Optional<CompiledFieldMatcher> compiled;
+
     public RequestFieldMatcher() {
     }
 
@@ -30,6 +36,7 @@ public class RequestFieldMatcher<T> {
 
     public void setMatcher(MatcherType matcher) {
         this.matcher = matcher;
+        this.compiled = null;
     }
 
     public T getValue() {
@@ -38,6 +45,20 @@ public class RequestFieldMatcher<T> {
 
     public void setValue(T value) {
         this.value = value;
+        this.compiled = null;
+    }
+
+    /**
+     * Compiles this matcher so that it can match request field values in the JVM, see {@link FieldMatcherCompiler}
+     * @return the compiled matcher, or empty if it can only be evaluated by Hoverfly
+     */
+    public Optional<CompiledFieldMatcher> compile() {
+        Optional<CompiledFieldMatcher> result = compiled;
+        if (result == null) {
+            result = FieldMatcherCompiler.compile(matcher, value);
+            compiled = result;
+        }
+        return result;
     }
 
     public static RequestFieldMatcher newExactMatcher(String value) {
@@ -44,6 +44,9 @@ public class HoverflyVerifications {
     }
 
     private static int getActualNumberOfRequests(VerificationData data) {
+        if (data != null && data.getNumberOfRequests().isPresent()) {
+            return data.getNumberOfRequests().getAsInt();
+        }
         if (data == null || data.getJournal() == null || data.getJournal().getEntries() == null) {
             throw new HoverflyVerificationError("Failed to get journal for verification.");
         }
@@ -0,0 +1,171 @@
+package io.specto.hoverfly.junit.verification;
+
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.EXACT;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.GLOB;
+import static io.specto.hoverfly.junit.verification.HoverflyVerifications.times;
+
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
+import io.specto.hoverfly.junit.dsl.RequestMatcherBuilder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A copy of the journal loaded once from Hoverfly, which can run any number of verifications without going back to
+ * Hoverfly. The requests are indexed by method, destination and path, so that a verification only matches the requests
+ * which have the method, destination and path prefix it expects. Request matchers which cannot be evaluated in the JVM,
+ * eg. because they require a state, are searched for in the current journal of Hoverfly instead.
+ *
+ * A snapshot is immutable, and can be used from multiple threads.
+ */
+public class JournalSnapshot {
+
+    private final List<JournalEntry> entries;
+    private final Function<Request, Journal> journalSearch;
+
+    private final Map<String, BitSet> entriesByMethod = new HashMap<>();
+    private final Map<String, BitSet> entriesByDestination = new HashMap<>();
+    // Sorted, so that the paths with a given prefix are a contiguous range of keys
+    private final NavigableMap<String, BitSet> entriesByPath = new TreeMap<>();
+
+    /**
+     * @param entries       the journal entries
+     * @param journalSearch searches the journal in Hoverfly, for the request matchers which cannot be evaluated in the JVM
+     */
+    public JournalSnapshot(List<JournalEntry> entries, Function<Request, Journal> journalSearch) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.journalSearch = journalSearch;
+        for (int i = 0; i < this.entries.size(); i++) {
+            RequestDetails request = this.entries.get(i).getRequest();
+            index(entriesByMethod, request.getMethod(), i);
+            index(entriesByDestination, request.getDestination(), i);
+            index(entriesByPath, request.getPath(), i);
+        }
+    }
+
+    /**
+     * @return all the journal entries in the snapshot, in the order they were recorded
+     */
+    public List<JournalEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @param request the request matcher
+     * @return the journal entries which match, in the order they were recorded
+     */
+    public List<JournalEntry> search(Request request) {
+        Optional<LocalRequestMatcher> localMatcher = LocalRequestMatcher.of(request);
+        if (!localMatcher.isPresent()) {
+            return journalSearch.apply(request).getEntries();
+        }
+
+        List<JournalEntry> matches = new ArrayList<>();
+        BitSet candidates = findCandidates(request);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            JournalEntry entry = entries.get(i);
+            if (localMatcher.get().matches(entry.getRequest())) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    public void verify(RequestMatcherBuilder requestMatcher) {
+        verify(requestMatcher, times(1));
+    }
+
+    public void verify(RequestMatcherBuilder requestMatcher, VerificationCriteria criteria) {
+        Request request = requestMatcher.build();
+        List<JournalEntry> matches = search(request);
+        criteria.verify(request, new VerificationData(new Journal(matches, 0, matches.size(), matches.size())));
+    }
+
+    /**
+     * Runs every verification against the snapshot, in parallel, and reports all the failures together
+     *
+     * @param verifications the criteria of each request matcher
+     * @throws HoverflyVerificationError if any of the verifications fails
+     */
+    public void verifyAll(Map<RequestMatcherBuilder, VerificationCriteria> verifications) {
+        List<String> failures = verifications.entrySet().parallelStream()
+                .map(verification -> {
+                    try {
+                        verify(verification.getKey(), verification.getValue());
+                        return null;
+                    } catch (HoverflyVerificationError e) {
+                        return e.getMessage();
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        if (!failures.isEmpty()) {
+            throw new HoverflyVerificationError(String.format("%d of %d verifications failed:%n%n%s",
+                    failures.size(), verifications.size(), String.join(String.format("%n"), failures)));
+        }
+    }
+
+    private BitSet findCandidates(Request request) {
+        BitSet candidates = new BitSet(entries.size());
+        candidates.set(0, entries.size());
+
+        findExactValue(request.getMethod())
+                .ifPresent(method -> candidates.and(entriesByMethod.getOrDefault(method, new BitSet())));
+        findExactValue(request.getDestination())
+                .ifPresent(destination -> candidates.and(entriesByDestination.getOrDefault(destination, new BitSet())));
+        findExactValue(request.getPath())
+                .ifPresent(path -> candidates.and(entriesByPath.getOrDefault(path, new BitSet())));
+        findGlobPrefix(request.getPath())
+                .ifPresent(prefix -> candidates.and(findPathsStartingWith(prefix)));
+        return candidates;
+    }
+
+    private BitSet findPathsStartingWith(String prefix) {
+        BitSet matches = new BitSet(entries.size());
+        entriesByPath.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(matches::or);
+        return matches;
+    }
+
+    private static Optional<String> findExactValue(List<RequestFieldMatcher> fieldMatchers) {
+        if (fieldMatchers == null) {
+            return Optional.empty();
+        }
+        return fieldMatchers.stream()
+                .filter(fieldMatcher -> fieldMatcher.getMatcher() == EXACT && fieldMatcher.getValue() instanceof String)
+                .map(fieldMatcher -> (String) fieldMatcher.getValue())
+                .findFirst();
+    }
+
+    // The literal text before the first wildcard of a glob, which the matching values start with
+    private static Optional<String> findGlobPrefix(List<RequestFieldMatcher> fieldMatchers) {
+        if (fieldMatchers == null) {
+            return Optional.empty();
+        }
+        return fieldMatchers.stream()
+                .filter(fieldMatcher -> fieldMatcher.getMatcher() == GLOB && fieldMatcher.getValue() instanceof String)
+                .map(fieldMatcher -> (String) fieldMatcher.getValue())
+                .map(glob -> glob.indexOf('*') < 0 ? glob : glob.substring(0, glob.indexOf('*')))
+                .filter(prefix -> !prefix.isEmpty())
+                .findFirst();
+    }
+
+    private static void index(Map<String, BitSet> index, String key, int entryIndex) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new BitSet()).set(entryIndex);
+        }
+    }
+}
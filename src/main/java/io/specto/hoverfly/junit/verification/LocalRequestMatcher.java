@@ -0,0 +1,159 @@
+package io.specto.hoverfly.junit.verification;
+
+import io.specto.hoverfly.junit.core.matching.CompiledFieldMatcher;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Matches the requests recorded in the journal against a {@link Request} matcher in the JVM, so that they can be
+ * verified without searching the journal in Hoverfly
+ */
+public class LocalRequestMatcher {
+
+    private final List<Predicate<RequestDetails>> fieldPredicates;
+
+    private LocalRequestMatcher(List<Predicate<RequestDetails>> fieldPredicates) {
+        this.fieldPredicates = fieldPredicates;
+    }
+
+    /**
+     * @param request the request matcher
+     * @return the local matcher, or empty if the request matcher can only be evaluated by Hoverfly, eg. because it
+     * requires a state
+     */
+    public static Optional<LocalRequestMatcher> of(Request request) {
+        if (!isEmpty(request.getRequiresState()) || !isEmpty(request.getDeprecatedQuery())) {
+            return Optional.empty();
+        }
+
+        List<Predicate<RequestDetails>> fieldPredicates = new ArrayList<>();
+        if (!addField(fieldPredicates, request.getPath(), RequestDetails::getPath)
+                || !addField(fieldPredicates, request.getMethod(), RequestDetails::getMethod)
+                || !addField(fieldPredicates, request.getDestination(), RequestDetails::getDestination)
+                || !addField(fieldPredicates, request.getScheme(), RequestDetails::getScheme)
+                || !addField(fieldPredicates, request.getBody(), RequestDetails::getBody)) {
+            return Optional.empty();
+        }
+        if (request.getQuery() != null) {
+            for (Map.Entry<String, List<RequestFieldMatcher>> query : request.getQuery().entrySet()) {
+                String key = query.getKey();
+                if (!addField(fieldPredicates, query.getValue(), details -> join(parseQuery(details.getQuery()).get(key)))) {
+                    return Optional.empty();
+                }
+            }
+        }
+        if (request.getHeaders() != null) {
+            for (Map.Entry<String, List<RequestFieldMatcher>> header : request.getHeaders().entrySet()) {
+                String name = header.getKey();
+                if (!addField(fieldPredicates, header.getValue(), details -> join(findHeader(details.getHeaders(), name)))) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(new LocalRequestMatcher(fieldPredicates));
+    }
+
+    public boolean matches(RequestDetails request) {
+        for (Predicate<RequestDetails> fieldPredicate : fieldPredicates) {
+            if (!fieldPredicate.test(request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of the given requests that match
+     */
+    public int count(Collection<RequestDetails> requests) {
+        int count = 0;
+        for (RequestDetails request : requests) {
+            if (matches(request)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean addField(List<Predicate<RequestDetails>> fieldPredicates,
+                                    List<RequestFieldMatcher> fieldMatchers,
+                                    Function<RequestDetails, String> field) {
+        if (fieldMatchers == null) {
+            return true;
+        }
+        for (RequestFieldMatcher<?> fieldMatcher : fieldMatchers) {
+            Optional<CompiledFieldMatcher> compiled = fieldMatcher.compile();
+            if (!compiled.isPresent()) {
+                return false;
+            }
+            CompiledFieldMatcher compiledMatcher = compiled.get();
+            fieldPredicates.add(details -> {
+                String value = field.apply(details);
+                return value != null && compiledMatcher.matches(value);
+            });
+        }
+        return true;
+    }
+
+    // Hoverfly matches the values of a query parameter or header which appears more than once as a single value
+    private static String join(List<String> values) {
+        return values == null ? null : String.join(";", values);
+    }
+
+    private static List<String> findHeader(Map<String, List<String>> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> params = new HashMap<>();
+        for (String param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int separator = param.indexOf('=');
+            String key = decode(separator < 0 ? param : param.substring(0, separator));
+            String value = separator < 0 ? "" : decode(param.substring(separator + 1));
+            params.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    private static boolean isEmpty(Map<?, ?> map) {
+        return map == null || map.isEmpty();
+    }
+}
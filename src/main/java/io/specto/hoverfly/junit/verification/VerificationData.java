@@ -1,10 +1,14 @@
 package io.specto.hoverfly.junit.verification;
 
 import io.specto.hoverfly.junit.core.model.Journal;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
 
 public class VerificationData {
 
     private Journal journal;
+    private Integer numberOfRequests;
+    private Supplier<Journal> journalLoader;
 
     public VerificationData() {
     }
@@ -13,11 +17,36 @@ public class VerificationData {
         this.journal = journal;
     }
 
+    /**
+     * Creates verification data from the number of matching requests. The matching journal entries are only fetched
+     * if {@link #getJournal()} is called, eg. to report a verification failure.
+     *
+     * @param numberOfRequests the number of matching requests
+     * @param journalLoader    fetches the matching journal entries
+     */
+    public VerificationData(int numberOfRequests, Supplier<Journal> journalLoader) {
+        this.numberOfRequests = numberOfRequests;
+        this.journalLoader = journalLoader;
+    }
+
     public Journal getJournal() {
+        if (journal == null && journalLoader != null) {
+            journal = journalLoader.get();
+            journalLoader = null;
+        }
         return journal;
     }
 
     public void setJournal(Journal journal) {
         this.journal = journal;
+        this.numberOfRequests = null;
+        this.journalLoader = null;
+    }
+
+    /**
+     * @return the number of matching requests if it is known without the journal entries
+     */
+    public OptionalInt getNumberOfRequests() {
+        return numberOfRequests != null ? OptionalInt.of(numberOfRequests) : OptionalInt.empty();
     }
 }
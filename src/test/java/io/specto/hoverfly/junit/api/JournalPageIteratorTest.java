@@ -0,0 +1,118 @@
+package io.specto.hoverfly.junit.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.specto.hoverfly.junit.api.command.SortParams;
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournalPageIteratorTest {
+
+    private final JournalEntry first = entry("first");
+    private final JournalEntry second = entry("second");
+    private final JournalEntry third = entry("third");
+
+    private final HoverflyClient client = mock(HoverflyClient.class);
+
+    @Before
+    public void setUp() {
+        when(client.streamJournal(anyInt(), any(), anyBoolean())).thenCallRealMethod();
+    }
+
+    @Test
+    public void shouldStreamEveryPage() {
+        when(client.getJournal(0, 2, null)).thenReturn(new Journal(Arrays.asList(first, second), 0, 2, 3));
+        when(client.getJournal(2, 2, null)).thenReturn(new Journal(Collections.singletonList(third), 2, 2, 3));
+
+        List<JournalEntry> entries = client.streamJournal(2, null, false).collect(Collectors.toList());
+
+        assertThat(entries).containsExactly(first, second, third);
+    }
+
+    @Test
+    public void shouldOnlyFetchPagesThatAreConsumed() {
+        when(client.getJournal(0, 2, null)).thenReturn(new Journal(Arrays.asList(first, second), 0, 2, 3));
+
+        List<JournalEntry> entries = client.streamJournal(2, null, false).limit(2).collect(Collectors.toList());
+
+        assertThat(entries).containsExactly(first, second);
+        verify(client, never()).getJournal(2, 2, null);
+    }
+
+    @Test
+    public void shouldPassSortParamsToEveryPage() {
+        SortParams sortParams = new SortParams("timeStarted", SortParams.Direction.DESC);
+        when(client.getJournal(0, 1, sortParams)).thenReturn(new Journal(Collections.singletonList(second), 0, 1, 2));
+        when(client.getJournal(1, 1, sortParams)).thenReturn(new Journal(Collections.singletonList(first), 1, 1, 2));
+
+        List<JournalEntry> entries = client.streamJournal(1, sortParams, false).collect(Collectors.toList());
+
+        assertThat(entries).containsExactly(second, first);
+    }
+
+    @Test
+    public void shouldPrefetchNextPageInTheBackground() {
+        AsyncHoverflyClient asyncClient = mock(AsyncHoverflyClient.class);
+        when(client.async()).thenReturn(Optional.of(asyncClient));
+        when(client.getJournal(0, 2, null)).thenReturn(new Journal(Arrays.asList(first, second), 0, 2, 3));
+        when(asyncClient.getJournal(2, 2, null))
+                .thenReturn(CompletableFuture.completedFuture(new Journal(Collections.singletonList(third), 2, 2, 3)));
+
+        try (Stream<JournalEntry> stream = client.streamJournal(2, null, true)) {
+            assertThat(stream.findFirst()).contains(first);
+        }
+
+        verify(asyncClient).getJournal(2, 2, null);
+        verify(client, never()).getJournal(2, 2, null);
+    }
+
+    @Test
+    public void shouldRethrowFailureOfPrefetchedPage() {
+        AsyncHoverflyClient asyncClient = mock(AsyncHoverflyClient.class);
+        when(client.async()).thenReturn(Optional.of(asyncClient));
+        when(client.getJournal(0, 1, null)).thenReturn(new Journal(Collections.singletonList(first), 0, 1, 2));
+        CompletableFuture<Journal> failedPage = new CompletableFuture<>();
+        failedPage.completeExceptionally(new HoverflyClientException("Failed to get journal"));
+        when(asyncClient.getJournal(1, 1, null)).thenReturn(failedPage);
+
+        assertThatThrownBy(() -> client.streamJournal(1, null, true).collect(Collectors.toList()))
+                .isInstanceOf(HoverflyClientException.class)
+                .hasMessage("Failed to get journal");
+    }
+
+    @Test
+    public void shouldStopAtAnEmptyPage() {
+        when(client.getJournal(anyInt(), anyInt(), isNull())).thenReturn(new Journal(Collections.emptyList(), 0, 2, 5));
+
+        assertThat(client.streamJournal(2, null, false)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectEmptyPages() {
+        assertThatThrownBy(() -> client.streamJournal(0, null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Journal page size must be at least 1.");
+    }
+
+    private static JournalEntry entry(String mode) {
+        return new JournalEntry(null, null, mode, null, null);
+    }
+}
@@ -0,0 +1,57 @@
+package io.specto.hoverfly.junit.api;
+
+import static io.specto.hoverfly.junit.core.SimulationSource.dsl;
+import static io.specto.hoverfly.junit.dsl.HoverflyDsl.service;
+import static io.specto.hoverfly.junit.dsl.ResponseCreators.success;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+public class JsonRequestBodyTest {
+
+    private Simulation simulation;
+
+    @Before
+    public void setUp() throws Exception {
+        String simulationJson = dsl(service("www.my-test.com")
+                .get("/api/bookings/1")
+                .willReturn(success("{\"bookingId\":\"1\"}", "application/json")))
+                .getSimulation();
+        simulation = ObjectMapperFactory.getDefaultObjectMapper().readValue(simulationJson, Simulation.class);
+    }
+
+    @Test
+    public void shouldStreamJsonIntoTheSink() throws Exception {
+        Buffer buffer = new Buffer();
+
+        new JsonRequestBody(simulation).writeTo(buffer);
+
+        String expected = ObjectMapperFactory.getDefaultObjectMapper().writeValueAsString(simulation);
+        JSONAssert.assertEquals(expected, buffer.readString(UTF_8), JSONCompareMode.STRICT);
+    }
+
+    @Test
+    public void shouldNotCloseTheSink() throws Exception {
+        Buffer buffer = new Buffer();
+
+        new JsonRequestBody(simulation).writeTo(buffer);
+        buffer.writeUtf8("\n");
+
+        assertThat(buffer.readUtf8()).endsWith("\n");
+    }
+
+    @Test
+    public void shouldBeSentWithUnknownLengthAsJson() throws Exception {
+        JsonRequestBody body = new JsonRequestBody(simulation);
+
+        assertThat(body.contentLength()).isEqualTo(-1);
+        assertThat(body.contentType()).hasToString("application/json");
+    }
+}
@@ -0,0 +1,107 @@
+package io.specto.hoverfly.junit.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.Resources;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OkHttpAsyncHoverflyClientTest {
+
+    private final AdminApiStandInHandler handler = new AdminApiStandInHandler();
+    private Server server;
+    private AsyncHoverflyClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Server(0);
+        server.setHandler(handler);
+        server.start();
+        int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        client = HoverflyClient.custom().port(port).build().async().orElseThrow(IllegalStateException::new);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void shouldSendIndependentCallsConcurrently() throws Exception {
+        // Each call is only answered once all of them have reached the server
+        handler.inFlight = new CountDownLatch(3);
+
+        CompletableFuture.allOf(client.deleteJournal(), client.deleteState(), client.cleanDiffs()).get(5, TimeUnit.SECONDS);
+
+        assertThat(handler.inFlight.getCount()).isZero();
+    }
+
+    @Test
+    public void shouldParseResponse() throws Exception {
+        Simulation simulation = client.getSimulation().get(5, TimeUnit.SECONDS);
+
+        assertThat(simulation.getHoverflyData().getPairs()).isNotEmpty();
+    }
+
+    @Test
+    public void shouldFailWithHoverflyClientException() {
+        handler.status = 500;
+
+        assertThatThrownBy(() -> client.deleteJournal().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HoverflyClientException.class)
+                .hasMessageContaining("Failed to delete journal: Unexpected response (code=500");
+    }
+
+    @Test
+    public void shouldReportUnhealthyHoverflyWithoutFailing() throws Exception {
+        server.stop();
+
+        assertThat(client.getHealth().get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    /**
+     * Stands in for the Hoverfly admin API
+     */
+    private static class AdminApiStandInHandler extends AbstractHandler {
+
+        private volatile CountDownLatch inFlight = new CountDownLatch(0);
+        private volatile int status = 200;
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+            baseRequest.setHandled(true);
+            inFlight.countDown();
+            try {
+                if (!inFlight.await(5, TimeUnit.SECONDS)) {
+                    response.setStatus(504);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            response.setStatus(status);
+            if ("GET".equals(request.getMethod())) {
+                response.setContentType("application/json");
+                response.getWriter().write(Resources.toString(Resources.getResource("test-service.json"), UTF_8));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.specto.hoverfly.junit.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Resources;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OkHttpHoverflyClientGzipTest {
+
+    private static final String SIMULATION = simulation();
+
+    private final GzipStandInHandler handler = new GzipStandInHandler();
+    private Server server;
+    private int port;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Server(0);
+        server.setHandler(handler);
+        server.start();
+        port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void shouldSendCompressedSimulationWhenGzipIsAccepted() {
+        HoverflyClient client = HoverflyClient.custom().port(port).withGzipCompression().build();
+
+        client.setSimulation(SIMULATION);
+
+        assertThat(handler.contentEncodings).containsExactly("gzip");
+        assertThat(handler.bodies).containsExactly(SIMULATION);
+    }
+
+    @Test
+    public void shouldFallBackToPlainJsonWhenGzipIsRejected() {
+        handler.acceptGzip = false;
+        HoverflyClient client = HoverflyClient.custom().port(port).withGzipCompression().build();
+
+        client.setSimulation(SIMULATION);
+        client.setSimulation(SIMULATION);
+
+        assertThat(handler.contentEncodings).containsExactly("gzip", "identity", "identity");
+        assertThat(handler.bodies).containsExactly(SIMULATION, SIMULATION);
+    }
+
+    @Test
+    public void shouldOnlyCompressStreamedSimulationOnceGzipIsKnownToBeAccepted() {
+        HoverflyClient client = HoverflyClient.custom().port(port).withGzipCompression().build();
+
+        client.setSimulation(new ByteArrayInputStream(SIMULATION.getBytes(UTF_8)));
+        client.setSimulation(SIMULATION);
+        client.setSimulation(new ByteArrayInputStream(SIMULATION.getBytes(UTF_8)));
+
+        assertThat(handler.contentEncodings).containsExactly("identity", "gzip", "gzip");
+        assertThat(handler.bodies).containsExactly(SIMULATION, SIMULATION, SIMULATION);
+    }
+
+    @Test
+    public void shouldNotCompressSimulationByDefault() {
+        HoverflyClient client = HoverflyClient.custom().port(port).build();
+
+        client.setSimulation(SIMULATION);
+
+        assertThat(handler.contentEncodings).containsExactly("identity");
+    }
+
+    @Test
+    public void shouldAcceptCompressedSimulation() {
+        HoverflyClient client = HoverflyClient.custom().port(port).build();
+
+        Simulation simulation = client.getSimulation();
+
+        assertThat(handler.compressedResponses).isEqualTo(1);
+        assertThat(simulation.getHoverflyData().getPairs()).isNotEmpty();
+    }
+
+    private static String simulation() {
+        try {
+            return Resources.toString(Resources.getResource("test-service.json"), UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stands in for a Hoverfly admin API that may or may not accept gzip compressed request bodies
+     */
+    private static class GzipStandInHandler extends AbstractHandler {
+
+        private final List<String> contentEncodings = new CopyOnWriteArrayList<>();
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+        private volatile boolean acceptGzip = true;
+        private volatile int compressedResponses;
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+            baseRequest.setHandled(true);
+
+            if ("GET".equals(request.getMethod())) {
+                response.setContentType("application/json");
+                String acceptEncoding = request.getHeader("Accept-Encoding");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    compressedResponses++;
+                    response.setHeader("Content-Encoding", "gzip");
+                    try (OutputStream outputStream = new GZIPOutputStream(response.getOutputStream())) {
+                        outputStream.write(SIMULATION.getBytes(UTF_8));
+                    }
+                } else {
+                    response.getOutputStream().write(SIMULATION.getBytes(UTF_8));
+                }
+                return;
+            }
+
+            String contentEncoding = request.getHeader("Content-Encoding");
+            boolean gzip = "gzip".equals(contentEncoding);
+            contentEncodings.add(gzip ? "gzip" : "identity");
+            if (gzip && !acceptGzip) {
+                response.setStatus(400);
+                response.getWriter().write("{\"error\":\"Invalid JSON\"}");
+                return;
+            }
+
+            InputStream body = gzip ? new GZIPInputStream(request.getInputStream()) : request.getInputStream();
+            bodies.add(new String(ByteStreams.toByteArray(body), UTF_8));
+            response.setStatus(200);
+        }
+    }
+}
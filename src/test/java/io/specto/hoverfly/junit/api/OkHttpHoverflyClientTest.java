@@ -277,6 +277,24 @@ public class OkHttpHoverflyClientTest {
         assertThat(journal.getEntries().iterator().next().getRequest().getDestination()).isEqualTo("hoverfly.io");
     }
 
+    @Test
+    public void shouldBeAbleToCountJournal() {
+        RestTemplate restTemplate = new RestTemplate();
+        for (int i = 0; i < 2; i++) {
+            try {
+                restTemplate.getForEntity("http://hoverfly.io", String.class);
+            } catch (Exception ignored) {
+                // Do nothing just to populate journal
+            }
+        }
+
+        int count = client.countJournal(new Request.Builder()
+                .destination(Collections.singletonList(newGlobMatcher("hoverfly.*")))
+                .build());
+
+        assertThat(count).isEqualTo(2);
+    }
+
     @After
     public void tearDown() {
         if (hoverfly != null) {
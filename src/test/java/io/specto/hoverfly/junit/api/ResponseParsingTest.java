@@ -0,0 +1,70 @@
+package io.specto.hoverfly.junit.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.Resources;
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestResponsePair;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ResponseParsingTest {
+
+    @Test
+    public void shouldReadOnlyTheRequestsOfSimulation() throws Exception {
+        URL resource = Resources.getResource("test-service.json");
+        Simulation simulation = ObjectMapperFactory.getDefaultObjectMapper().readValue(resource, Simulation.class);
+
+        List<Request> requests;
+        try (InputStream inputStream = resource.openStream()) {
+            requests = OkHttpHoverflyClient.readSimulationRequests(inputStream);
+        }
+
+        assertThat(requests).isNotEmpty();
+        assertThat(requests).containsExactlyInAnyOrderElementsOf(simulation.getHoverflyData().getPairs().stream()
+                .map(RequestResponsePair::getRequest)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldSkipResponsesAndUnknownFieldsOfSimulation() throws Exception {
+        String simulation = "{\"meta\":{\"schemaVersion\":\"v5.1\"},\"data\":{\"globalActions\":{\"delays\":[]},\"pairs\":["
+                + "{\"response\":{\"status\":200,\"body\":\"eyJib29raW5nIjoxfQ==\",\"encodedBody\":true,\"headers\":{\"A\":[\"b\"]}},"
+                + "\"request\":{\"path\":[{\"matcher\":\"exact\",\"value\":\"/a\"}]}},"
+                + "{\"request\":{\"method\":[{\"matcher\":\"exact\",\"value\":\"GET\"}]},\"labels\":[\"x\"]}]}}";
+
+        List<Request> requests = OkHttpHoverflyClient.readSimulationRequests(stream(simulation));
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getPath().get(0).getValue()).isEqualTo("/a");
+        assertThat(requests.get(1).getMethod().get(0).getValue()).isEqualTo("GET");
+    }
+
+    @Test
+    public void shouldCountJournalEntriesWithoutDeserializingThem() throws Exception {
+        String journal = "{\"journal\":[{\"request\":{\"path\":\"/\"},\"response\":{\"body\":\"[1,2]\"}},{},{}],"
+                + "\"offset\":0,\"limit\":25,\"total\":3}";
+
+        assertThat(OkHttpHoverflyClient.countJournalEntries(stream(journal))).isEqualTo(3);
+        assertThat(OkHttpHoverflyClient.countJournalEntries(stream("{\"total\":0,\"journal\":[]}"))).isZero();
+    }
+
+    @Test
+    public void shouldFailToCountJournalWithoutEntries() {
+        assertThatThrownBy(() -> OkHttpHoverflyClient.countJournalEntries(stream("{\"journal\":null}")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+}
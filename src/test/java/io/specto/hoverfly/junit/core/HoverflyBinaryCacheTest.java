@@ -0,0 +1,61 @@
+package io.specto.hoverfly.junit.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HoverflyBinaryCacheTest {
+
+    @Rule
+    public final TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private SystemConfig systemConfig;
+    private String resourcePath;
+    private Path sourceFile;
+
+    @Before
+    public void setUp() throws Exception {
+        systemConfig = new SystemConfigFactory().createSystemConfig();
+        resourcePath = "binaries/" + systemConfig.getHoverflyBinaryName();
+        URL sourceFileUrl = Resources.getResource(resourcePath);
+        sourceFile = Paths.get(sourceFileUrl.toURI());
+    }
+
+    @Test
+    public void shouldStoreBinaryUnderItsChecksum() throws Exception {
+        HoverflyBinaryCache cache = new HoverflyBinaryCache(cacheFolder.getRoot().toPath());
+
+        Path binary = cache.getBinary(resourcePath, systemConfig.getHoverflyBinaryName(), systemConfig.getOsName());
+
+        assertThat(binary).isEqualTo(expectedBinaryPath());
+        assertThat(Files.isExecutable(binary)).isTrue();
+        assertThat(binary).hasSameContentAs(sourceFile);
+    }
+
+    @Test
+    public void shouldReplaceCorruptedBinary() throws Exception {
+        Path corrupted = expectedBinaryPath();
+        Files.createDirectories(corrupted.getParent());
+        Files.write(corrupted, "corrupted".getBytes());
+        HoverflyBinaryCache cache = new HoverflyBinaryCache(cacheFolder.getRoot().toPath());
+
+        Path binary = cache.getBinary(resourcePath, systemConfig.getHoverflyBinaryName(), systemConfig.getOsName());
+
+        assertThat(binary).isEqualTo(corrupted);
+        assertThat(binary).hasSameContentAs(sourceFile);
+    }
+
+    private Path expectedBinaryPath() throws Exception {
+        String checksum = com.google.common.io.Files.asByteSource(sourceFile.toFile()).hash(Hashing.sha256()).toString();
+        return cacheFolder.getRoot().toPath().resolve("binaries").resolve(checksum).resolve(systemConfig.getHoverflyBinaryName());
+    }
+}
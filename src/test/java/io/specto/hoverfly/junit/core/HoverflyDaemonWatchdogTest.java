@@ -0,0 +1,92 @@
+package io.specto.hoverfly.junit.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HoverflyDaemonWatchdogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldHaveActiveLeasesWhileLeaseIsHeld() throws Exception {
+        Path daemonDir = temporaryFolder.getRoot().toPath();
+
+        HoverflyDaemons.DaemonLease lease = HoverflyDaemons.DaemonLease.take(createLeasesDir(daemonDir), 8500, 8888);
+
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(daemonDir)).isTrue();
+        assertThat(lease.getProxyPort()).isEqualTo(8500);
+        assertThat(lease.getAdminPort()).isEqualTo(8888);
+
+        lease.release();
+
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(daemonDir)).isFalse();
+    }
+
+    @Test
+    public void shouldDeleteLeasesThatAreNoLongerLocked() throws Exception {
+        Path daemonDir = temporaryFolder.getRoot().toPath();
+        Path staleLease = createLeasesDir(daemonDir)
+                .resolve(HoverflyDaemonWatchdog.LEASES_DIR_NAME)
+                .resolve("stale" + HoverflyDaemonWatchdog.LEASE_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(staleLease, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            assertThat(staleLease).exists();
+        }
+
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(daemonDir)).isFalse();
+        assertThat(staleLease).doesNotExist();
+    }
+
+    @Test
+    public void shouldOnlyResetDaemonWhenLastLeaseIsReleased() throws Exception {
+        Path daemonDir = createLeasesDir(temporaryFolder.getRoot().toPath());
+        HoverflyDaemons.DaemonLease first = HoverflyDaemons.DaemonLease.take(daemonDir, 8500, 8888);
+        HoverflyDaemons.DaemonLease second = HoverflyDaemons.DaemonLease.take(daemonDir, 8500, 8888);
+        AtomicInteger resets = new AtomicInteger();
+
+        HoverflyDaemons.release(first, resets::incrementAndGet);
+
+        assertThat(resets).hasValue(0);
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(daemonDir)).isTrue();
+
+        HoverflyDaemons.release(second, resets::incrementAndGet);
+
+        assertThat(resets).hasValue(1);
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(daemonDir)).isFalse();
+    }
+
+    @Test
+    public void shouldOnlyCountLeasesOfThisJvmWithoutOpeningThem() throws Exception {
+        Path daemonDir = createLeasesDir(temporaryFolder.getRoot().toPath());
+        Path ownedLease = daemonDir.resolve(HoverflyDaemonWatchdog.LEASES_DIR_NAME).resolve("owned" + HoverflyDaemonWatchdog.LEASE_FILE_SUFFIX);
+        Path staleLease = daemonDir.resolve(HoverflyDaemonWatchdog.LEASES_DIR_NAME).resolve("stale" + HoverflyDaemonWatchdog.LEASE_FILE_SUFFIX);
+        Files.createFile(ownedLease);
+        Files.createFile(staleLease);
+
+        boolean active = HoverflyDaemonWatchdog.hasActiveLeases(daemonDir, Collections.singleton(ownedLease.toAbsolutePath().normalize()), false);
+
+        assertThat(active).isTrue();
+        assertThat(staleLease).exists();
+    }
+
+    @Test
+    public void shouldNotHaveActiveLeasesWithoutLeasesDirectory() throws Exception {
+        assertThat(HoverflyDaemonWatchdog.hasActiveLeases(temporaryFolder.getRoot().toPath())).isFalse();
+    }
+
+    private static Path createLeasesDir(Path daemonDir) throws Exception {
+        Files.createDirectories(daemonDir.resolve(HoverflyDaemonWatchdog.LEASES_DIR_NAME));
+        return daemonDir;
+    }
+}
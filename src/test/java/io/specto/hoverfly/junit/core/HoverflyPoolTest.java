@@ -0,0 +1,238 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyConfig.localConfigs;
+import static io.specto.hoverfly.junit.core.HoverflyMode.SIMULATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Test;
+
+public class HoverflyPoolTest {
+
+    private final List<Hoverfly> createdInstances = new ArrayList<>();
+    private HoverflyPool pool;
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldStartEveryInstanceInTheBackground() {
+        pool = new HoverflyPool(3, SIMULATE, mockHoverflyFactory(localConfigs()));
+
+        Hoverfly first = pool.borrow(5, TimeUnit.SECONDS);
+        Hoverfly second = pool.borrow(5, TimeUnit.SECONDS);
+        Hoverfly third = pool.borrow(5, TimeUnit.SECONDS);
+
+        assertThat(createdInstances).containsExactlyInAnyOrder(first, second, third);
+        createdInstances.forEach(hoverfly -> verify(hoverfly).start());
+    }
+
+    @Test
+    public void shouldResetInstanceWhenItIsReleased() {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+        Hoverfly hoverfly = pool.borrow(5, TimeUnit.SECONDS);
+
+        pool.release(hoverfly);
+
+        verify(hoverfly).reset();
+        verify(hoverfly).resetDiffs();
+        verify(hoverfly).resetMode(SIMULATE);
+        assertThat(pool.borrow(5, TimeUnit.SECONDS)).isSameAs(hoverfly);
+    }
+
+    @Test
+    public void shouldReplaceInstanceThatCannotBeReset() {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+        Hoverfly hoverfly = pool.borrow(5, TimeUnit.SECONDS);
+        doThrow(new IllegalStateException("reset failed")).when(hoverfly).reset();
+
+        pool.release(hoverfly);
+
+        verify(hoverfly).close();
+        Hoverfly replacement = pool.borrow(5, TimeUnit.SECONDS);
+        assertThat(replacement).isNotSameAs(hoverfly);
+        assertThat(createdInstances).hasSize(2);
+    }
+
+    @Test
+    public void shouldRecordBorrowWaitTime() throws Exception {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+        Hoverfly hoverfly = pool.borrow(5, TimeUnit.SECONDS);
+
+        CountDownLatch borrowed = new CountDownLatch(1);
+        Thread waitingThread = new Thread(() -> {
+            pool.borrow(5, TimeUnit.SECONDS);
+            borrowed.countDown();
+        });
+        waitingThread.start();
+        Thread.sleep(100);
+        pool.release(hoverfly);
+
+        assertThat(borrowed.await(5, TimeUnit.SECONDS)).isTrue();
+        HoverflyPool.BorrowWaitStatistics statistics = pool.getBorrowWaitStatistics();
+        assertThat(statistics.getBorrowCount()).isEqualTo(2);
+        assertThat(statistics.getMaxWaitTime().toMillis()).isGreaterThanOrEqualTo(100);
+        assertThat(statistics.getTotalWaitTime()).isGreaterThanOrEqualTo(statistics.getMaxWaitTime());
+    }
+
+    @Test
+    public void shouldTimeOutWhenNoInstanceIsAvailable() {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+        pool.borrow(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> pool.borrow(50, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Timed out waiting for a Hoverfly instance from the pool.");
+    }
+
+    @Test
+    public void shouldFailToBorrowIfInstancesFailedToStart() {
+        Supplier<Hoverfly> factory = () -> {
+            Hoverfly hoverfly = mockHoverfly(localConfigs().build());
+            doThrow(new IllegalStateException("Hoverfly has not become healthy in 10 seconds")).when(hoverfly).start();
+            return hoverfly;
+        };
+        pool = new HoverflyPool(1, SIMULATE, factory);
+
+        assertThatThrownBy(() -> pool.borrow(5, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed to start Hoverfly pool.")
+                .hasRootCauseMessage("Hoverfly has not become healthy in 10 seconds");
+    }
+
+    @Test
+    public void shouldReplaceInstanceThatFailedToStart() {
+        pool = new HoverflyPool(2, SIMULATE, failingHoverflyFactory(0));
+
+        Hoverfly first = pool.borrow(5, TimeUnit.SECONDS);
+        Hoverfly second = pool.borrow(5, TimeUnit.SECONDS);
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(createdInstances).hasSize(3);
+    }
+
+    @Test
+    public void shouldKeepLendingStartedInstancesWhenOthersFailToStart() {
+        pool = new HoverflyPool(2, SIMULATE, failingHoverflyFactory(1, 2, 3));
+        Hoverfly hoverfly = pool.borrow(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> pool.borrow(500, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Timed out waiting for a Hoverfly instance from the pool.");
+        assertThat(createdInstances).hasSize(4);
+
+        pool.release(hoverfly);
+
+        assertThat(pool.borrow(5, TimeUnit.SECONDS)).isSameAs(hoverfly);
+    }
+
+    @Test
+    public void shouldNotAllowFixedPortsForMoreThanOneInstance() {
+        assertThatThrownBy(() -> new HoverflyPool(2, SIMULATE, mockHoverflyFactory(localConfigs().proxyPort(8500))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Proxy and admin ports cannot be set for a Hoverfly pool with more than one instance.");
+    }
+
+    @Test
+    public void shouldNotReleaseInstanceFromAnotherPool() {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+
+        assertThatThrownBy(() -> pool.release(mockHoverfly(localConfigs().build())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hoverfly instance was not borrowed from this pool.");
+    }
+
+    @Test
+    public void shouldCloseEveryInstanceWhenPoolIsClosed() {
+        pool = new HoverflyPool(2, SIMULATE, mockHoverflyFactory(localConfigs()));
+        Hoverfly borrowed = pool.borrow(5, TimeUnit.SECONDS);
+        pool.borrow(5, TimeUnit.SECONDS);
+
+        pool.close();
+
+        createdInstances.forEach(hoverfly -> verify(hoverfly, timeout(1000)).closeAsync());
+        assertThatThrownBy(() -> pool.borrow(50, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Hoverfly pool is closed.");
+        assertThat(borrowed).isNotNull();
+    }
+
+    @Test
+    public void shouldIgnoreInstanceReleasedAfterPoolIsClosed() {
+        pool = new HoverflyPool(1, SIMULATE, mockHoverflyFactory(localConfigs()));
+        Hoverfly hoverfly = pool.borrow(5, TimeUnit.SECONDS);
+        pool.close();
+
+        pool.release(hoverfly);
+
+        verify(hoverfly).closeAsync();
+        verify(hoverfly, never()).reset();
+    }
+
+    @Test
+    public void shouldSetProxySystemPropertiesOnceFromThePool() {
+        String originalProxyPort = System.getProperty("http.proxyPort");
+        pool = new HoverflyPool(3, SIMULATE, mockHoverflyFactory(localConfigs()));
+        List<Integer> proxyPorts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            proxyPorts.add(pool.borrow(5, TimeUnit.SECONDS).getHoverflyConfig().getProxyPort());
+        }
+
+        assertThat(proxyPorts).contains(Integer.valueOf(System.getProperty("http.proxyPort")));
+        createdInstances.forEach(hoverfly -> verify(hoverfly).disableJvmConfiguration());
+
+        pool.close();
+
+        assertThat(System.getProperty("http.proxyPort")).isEqualTo(originalProxyPort);
+    }
+
+    private Supplier<Hoverfly> mockHoverflyFactory(HoverflyConfig hoverflyConfig) {
+        return () -> {
+            Hoverfly hoverfly = mockHoverfly(hoverflyConfig.build());
+            synchronized (createdInstances) {
+                createdInstances.add(hoverfly);
+            }
+            return hoverfly;
+        };
+    }
+
+    // The instances created at the given indexes fail to start
+    private Supplier<Hoverfly> failingHoverflyFactory(Integer... failingInstances) {
+        Supplier<Hoverfly> factory = mockHoverflyFactory(localConfigs());
+        return () -> {
+            Hoverfly hoverfly = factory.get();
+            synchronized (createdInstances) {
+                if (Arrays.asList(failingInstances).contains(createdInstances.size() - 1)) {
+                    doThrow(new IllegalStateException("Hoverfly has not become healthy in 10 seconds")).when(hoverfly).start();
+                }
+            }
+            return hoverfly;
+        };
+    }
+
+    private static Hoverfly mockHoverfly(HoverflyConfiguration configuration) {
+        Hoverfly hoverfly = mock(Hoverfly.class);
+        when(hoverfly.getHoverflyConfig()).thenReturn(configuration);
+        when(hoverfly.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+        return hoverfly;
+    }
+}
@@ -0,0 +1,148 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.HoverflyConfig.localConfigs;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.specto.hoverfly.junit.core.HoverflyProcessRegistry.SharedProcess;
+import io.specto.hoverfly.junit.core.config.HoverflyConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeroturnaround.exec.StartedProcess;
+
+public class HoverflyProcessRegistryTest {
+
+    private final TempFileManager tempFileManager = mock(TempFileManager.class);
+    private final Process process = mock(Process.class);
+    private Supplier<StartedProcess> launcher;
+    private int launches;
+
+    @Before
+    public void setUp() {
+        StartedProcess startedProcess = mock(StartedProcess.class);
+        when(startedProcess.getProcess()).thenReturn(process);
+        when(process.isAlive()).thenReturn(true);
+        launcher = () -> {
+            launches++;
+            return startedProcess;
+        };
+    }
+
+    @After
+    public void tearDown() {
+        HoverflyProcessRegistry.stopAll();
+    }
+
+    @Test
+    public void shouldIgnoreRandomlyAssignedPortsInKey() {
+        HoverflyConfiguration first = localConfigs().build();
+        HoverflyConfiguration second = localConfigs().build();
+
+        assertThat(HoverflyProcessRegistry.keyOf(first)).isEqualTo(HoverflyProcessRegistry.keyOf(second));
+    }
+
+    @Test
+    public void shouldNotShareProcessBetweenDifferentConfigurations() {
+        HoverflyConfiguration first = localConfigs().proxyPort(8500).build();
+        HoverflyConfiguration second = localConfigs().proxyPort(8501).build();
+        HoverflyConfiguration third = localConfigs().plainHttpTunneling().build();
+
+        assertThat(HoverflyProcessRegistry.keyOf(first))
+                .isNotEqualTo(HoverflyProcessRegistry.keyOf(second))
+                .isNotEqualTo(HoverflyProcessRegistry.keyOf(third));
+    }
+
+    @Test
+    public void shouldReuseRunningProcessForEquivalentConfiguration() {
+        HoverflyConfiguration first = localConfigs().build();
+
+        SharedProcess acquired = HoverflyProcessRegistry.acquire(first, tempFileManager, launcher);
+        SharedProcess reused = HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+
+        assertThat(reused).isSameAs(acquired);
+        assertThat(reused.getReferences()).isEqualTo(2);
+        assertThat(reused.getAdminPort()).isEqualTo(first.getAdminPort());
+        assertThat(reused.getProxyPort()).isEqualTo(first.getProxyPort());
+        assertThat(launches).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldOnlyResetProcessWhenLastReferenceIsReleased() {
+        Runnable resetAction = mock(Runnable.class);
+        SharedProcess acquired = HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+        HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+
+        HoverflyProcessRegistry.release(acquired, resetAction);
+        verify(resetAction, never()).run();
+
+        HoverflyProcessRegistry.release(acquired, resetAction);
+        verify(resetAction, times(1)).run();
+        verify(process, never()).destroy();
+        verify(tempFileManager, never()).purge();
+    }
+
+    @Test
+    public void shouldStopProcessIfResetFails() {
+        Runnable resetAction = mock(Runnable.class);
+        doThrow(new IllegalStateException("reset failed")).when(resetAction).run();
+        SharedProcess acquired = HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+
+        HoverflyProcessRegistry.release(acquired, resetAction);
+
+        verify(process).destroy();
+        verify(tempFileManager).purge();
+
+        HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+        assertThat(launches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldStartNewProcessIfSharedProcessHasExited() {
+        HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+        when(process.isAlive()).thenReturn(false);
+
+        HoverflyProcessRegistry.acquire(localConfigs().build(), tempFileManager, launcher);
+
+        assertThat(launches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotWaitForProcessOfOtherConfigurationToStart() throws Exception {
+        CountDownLatch starting = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Supplier<StartedProcess> slowLauncher = () -> {
+            starting.countDown();
+            try {
+                started.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return launcher.get();
+        };
+        CompletableFuture<SharedProcess> slow = CompletableFuture.supplyAsync(
+                () -> HoverflyProcessRegistry.acquire(localConfigs().proxyPort(8500).build(), tempFileManager, slowLauncher));
+        try {
+            assertThat(starting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            SharedProcess other = CompletableFuture.supplyAsync(
+                    () -> HoverflyProcessRegistry.acquire(localConfigs().proxyPort(8501).build(), tempFileManager, launcher))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(other.getProxyPort()).isEqualTo(8501);
+            assertThat(slow).isNotDone();
+        } finally {
+            started.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+        }
+    }
+}
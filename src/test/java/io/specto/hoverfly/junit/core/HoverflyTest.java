@@ -7,13 +7,23 @@ import static io.specto.hoverfly.junit.core.HoverflyMode.DIFF;
 import static io.specto.hoverfly.junit.core.HoverflyMode.SIMULATE;
 import static io.specto.hoverfly.junit.core.HoverflyMode.SPY;
 import static io.specto.hoverfly.junit.core.SimulationSource.classpath;
+import static io.specto.hoverfly.junit.core.SimulationSource.dsl;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newExactMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newGlobMatcher;
+import static io.specto.hoverfly.junit.dsl.HoverflyDsl.service;
+import static io.specto.hoverfly.junit.dsl.ResponseCreators.success;
 import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
@@ -22,6 +32,7 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.OK;
@@ -34,6 +45,7 @@ import ch.qos.logback.core.Appender;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 import com.google.common.io.Resources;
+import io.specto.hoverfly.junit.api.AsyncHoverflyClient;
 import io.specto.hoverfly.junit.api.HoverflyClient;
 import io.specto.hoverfly.junit.api.HoverflyClientException;
 import io.specto.hoverfly.junit.api.model.ModeArguments;
@@ -41,20 +53,34 @@ import io.specto.hoverfly.junit.api.view.HoverflyInfoView;
 import io.specto.hoverfly.junit.core.config.LocalHoverflyConfig;
 import io.specto.hoverfly.junit.core.config.LogLevel;
 import io.specto.hoverfly.junit.core.model.DelaySettings;
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
 import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
 import io.specto.hoverfly.junit.core.model.RequestResponsePair;
 import io.specto.hoverfly.junit.core.model.Simulation;
+import io.specto.hoverfly.junit.verification.HoverflyVerificationError;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import javax.net.ssl.SSLContext;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.http.HttpResponse;
@@ -145,6 +171,18 @@ public class HoverflyTest {
                 .anyMatch(e -> e.getLevel() == Level.INFO && e.getFormattedMessage().startsWith("Default proxy port has been overwritten port="));
     }
 
+    @Test
+    public void shouldStartHoverflyAsynchronously() {
+        hoverfly = new Hoverfly(localConfigs(), SIMULATE);
+
+        Hoverfly startedHoverfly = hoverfly.startAsync().join();
+
+        assertThat(startedHoverfly).isSameAs(hoverfly);
+        assertThat(hoverfly.isHealthy()).isTrue();
+        assertThat(System.getProperty("http.proxyPort")).isEqualTo(String.valueOf(hoverfly.getHoverflyConfig().getProxyPort()));
+        assertThat(hoverfly.getSslConfigurer().getSslContext()).isNotNull();
+    }
+
     @Test
     public void shouldRemoveShutdownHookIfAlreadyCleanedUp() {
         hoverfly = new Hoverfly(localConfigs(), SIMULATE);
@@ -348,6 +386,64 @@ public class HoverflyTest {
     }
 
 
+    @Test
+    public void shouldWaitForHoverflyProcessTerminationInBackgroundWhenClosingAsynchronously() throws Exception {
+        // Given
+        hoverfly = new Hoverfly(SIMULATE);
+
+        TempFileManager tempFileManager = spy(TempFileManager.class);
+        Whitebox.setInternalState(hoverfly, "tempFileManager", tempFileManager);
+        SslConfigurer sslConfigurer = mock(SslConfigurer.class);
+        Whitebox.setInternalState(hoverfly, "sslConfigurer", sslConfigurer);
+
+        StartedProcess mockStartedProcess = mock(StartedProcess.class);
+        Whitebox.setInternalState(hoverfly, "startedProcess", mockStartedProcess);
+        Process mockProcess = mock(Process.class);
+        when(mockStartedProcess.getProcess()).thenReturn(mockProcess);
+        CountDownLatch processTerminated = new CountDownLatch(1);
+        when(mockProcess.waitFor()).then(invocation -> {
+            processTerminated.await();
+            return 0;
+        });
+
+        // When
+        CompletableFuture<Void> closed = hoverfly.closeAsync();
+
+        // Then
+        verify(mockProcess).destroy();
+        verify(sslConfigurer).reset();
+        assertThat(closed).isNotDone();
+        verify(tempFileManager, never()).purge();
+
+        processTerminated.countDown();
+        closed.get(5, TimeUnit.SECONDS);
+        verify(tempFileManager).purge();
+    }
+
+    @Test
+    public void shouldStopWaitingForHoverflyProcessWhenTerminationTimesOut() throws Exception {
+        // Given
+        StartedProcess mockStartedProcess = mock(StartedProcess.class);
+        Process mockProcess = mock(Process.class);
+        when(mockStartedProcess.getProcess()).thenReturn(mockProcess);
+        CountDownLatch waitingInterrupted = new CountDownLatch(1);
+        when(mockProcess.waitFor()).then(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                waitingInterrupted.countDown();
+                throw e;
+            }
+            return 0;
+        });
+
+        // When
+        Hoverfly.destroyProcessAsync(mockStartedProcess).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(waitingInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
     @Test
     public void shouldSetTrustStoreWhenStartingHoverfly() {
         // Given
@@ -396,6 +492,29 @@ public class HoverflyTest {
         verify(sslConfigurer).setDefaultSslContext("ssl/ca.crt");
     }
 
+    @Test
+    public void shouldWaitForStartToEndBeforeClosing() throws Exception {
+        hoverfly = new Hoverfly(remoteConfigs(), SIMULATE);
+        SslConfigurer sslConfigurer = mock(SslConfigurer.class);
+        Whitebox.setInternalState(hoverfly, "sslConfigurer", sslConfigurer);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        CountDownLatch healthy = new CountDownLatch(1);
+        when(hoverflyClient.getHealth()).then(invocation -> healthy.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Hoverfly> started = hoverfly.startAsync();
+        CompletableFuture<Void> closed = hoverfly.closeAsync();
+
+        assertThat(closed).isNotDone();
+        verify(sslConfigurer, never()).reset();
+
+        healthy.countDown();
+        closed.get(5, TimeUnit.SECONDS);
+        assertThat(started).isDone();
+        InOrder inOrder = inOrder(sslConfigurer);
+        inOrder.verify(sslConfigurer).setDefaultSslContext();
+        inOrder.verify(sslConfigurer).reset();
+    }
+
     @Test
     public void shouldResetJournalWhenUsingARemoteHoverflyInstance() {
 
@@ -425,6 +544,30 @@ public class HoverflyTest {
         verify(hoverflyClient).deleteState();
     }
 
+    @Test
+    public void shouldSendResetCallsConcurrentlyWhenClientSupportsIt() {
+
+        hoverfly = new Hoverfly(SIMULATE);
+
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        AsyncHoverflyClient asyncHoverflyClient = mock(AsyncHoverflyClient.class);
+        when(hoverflyClient.async()).thenReturn(Optional.of(asyncHoverflyClient));
+        CompletableFuture<Void> journalDeleted = new CompletableFuture<>();
+        when(asyncHoverflyClient.deleteSimulation()).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncHoverflyClient.deleteJournal()).thenReturn(journalDeleted);
+        when(asyncHoverflyClient.deleteState()).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> reset = hoverfly.resetAsync();
+
+        verify(asyncHoverflyClient).deleteSimulation();
+        verify(asyncHoverflyClient).deleteJournal();
+        verify(asyncHoverflyClient).deleteState();
+        assertThat(reset).isNotDone();
+        journalDeleted.complete(null);
+        assertThat(reset).isCompleted();
+        verify(hoverflyClient, never()).deleteJournal();
+    }
+
     @Test
     public void shouldCopySslCertAndKeyToTempFolderIfPresent () {
         // Given
@@ -757,6 +900,228 @@ public class HoverflyTest {
         }
     }
 
+    @Test
+    public void shouldStreamSimulationFromClasspathToHoverfly() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(classpath("test-service.json"));
+
+        verify(hoverflyClient).setSimulation(any(InputStream.class));
+        verify(hoverflyClient, never()).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldVerifyAllRequestsAgainstJournalFetchedOnce() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        Request localRequest = new Request.Builder()
+                .method(singletonList(newExactMatcher("GET")))
+                .path(singletonList(newGlobMatcher("/api/*")))
+                .build();
+        Request statefulRequest = new Request.Builder()
+                .path(singletonList(newExactMatcher("/api/bookings")))
+                .requiresState(singletonMap("page", "2"))
+                .build();
+        when(hoverflyClient.getSimulationRequests()).thenReturn(Arrays.asList(localRequest, statefulRequest));
+        when(hoverflyClient.streamJournal(anyInt(), any(), anyBoolean())).thenReturn(Stream.of(journalEntry("GET", "/api/bookings")));
+        when(hoverflyClient.countJournal(statefulRequest)).thenReturn(1);
+
+        hoverfly.verifyAll();
+
+        verify(hoverflyClient).countJournal(statefulRequest);
+        verify(hoverflyClient, never()).countJournal(localRequest);
+        verify(hoverflyClient, never()).searchJournal(any());
+    }
+
+    @Test
+    public void shouldSearchJournalToReportRequestsNotMadeWhenVerifyAllFails() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        Request request = new Request.Builder()
+                .method(singletonList(newExactMatcher("POST")))
+                .build();
+        when(hoverflyClient.getSimulationRequests()).thenReturn(Collections.singletonList(request));
+        when(hoverflyClient.streamJournal(anyInt(), any(), anyBoolean())).thenReturn(Stream.of(journalEntry("GET", "/api/bookings")));
+        when(hoverflyClient.searchJournal(request)).thenReturn(new Journal(Collections.emptyList(), 0, 25, 0));
+
+        assertThatThrownBy(() -> hoverfly.verifyAll())
+                .isInstanceOf(HoverflyVerificationError.class)
+                .hasMessageContaining("But actual number of requests is 0");
+        verify(hoverflyClient).searchJournal(request);
+    }
+
+    private static JournalEntry journalEntry(String method, String path) {
+        RequestDetails request = new RequestDetails("http", "hoverfly.io", path, "", "", method, Collections.emptyMap());
+        return new JournalEntry(request, null, "simulate", ZonedDateTime.now(), 1.0);
+    }
+
+    @Test
+    public void shouldNotImportUnchangedSimulationAgain() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(1)).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldResetStateWhenSkippingImportOfUnchangedSimulation() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        verify(hoverflyClient, never()).deleteState();
+
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(1)).setSimulation(anyString());
+        verify(hoverflyClient).deleteState();
+    }
+
+    @Test
+    public void shouldImportChangedSimulation() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.simulate(dsl(service("www.my-test.com").get("/api/flights").willReturn(success())));
+
+        verify(hoverflyClient, times(2)).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldImportSimulationAgainAfterReset() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.reset();
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(2)).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldImportSimulationAgainAfterCapturing() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.resetMode(CAPTURE);
+        hoverfly.resetMode(SIMULATE);
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(2)).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldNotStreamUnchangedSimulationAgain() {
+        hoverfly = new Hoverfly(SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(classpath("test-service.json"));
+        hoverfly.simulate(classpath("test-service.json"));
+
+        verify(hoverflyClient, times(1)).setSimulation(any(InputStream.class));
+    }
+
+    @Test
+    public void shouldAlwaysImportSimulationToRemoteInstance() {
+        hoverfly = new Hoverfly(remoteConfigs(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(2)).setSimulation(anyString());
+    }
+
+    @Test
+    public void shouldOnlyAddNewPairsInIncrementalSimulationMode() {
+        hoverfly = new Hoverfly(localConfigs().enableIncrementalSimulation(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        SimulationSource flights = dsl(service("www.my-test.com").get("/api/flights").willReturn(success()));
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.simulate(bookingSimulation(), flights);
+
+        verify(hoverflyClient).setSimulation(any(Simulation.class));
+        ArgumentCaptor<Simulation> additions = ArgumentCaptor.forClass(Simulation.class);
+        verify(hoverflyClient).addSimulation(additions.capture());
+        assertThat(additions.getValue().getHoverflyData().getPairs())
+                .containsExactlyElementsOf(readPairs(flights));
+        assertThat(additions.getValue().getHoverflyData().getGlobalActions().getDelays()).isEmpty();
+    }
+
+    @Test
+    public void shouldResetStateWhenOnlyAddingNewPairsInIncrementalSimulationMode() {
+        hoverfly = new Hoverfly(localConfigs().enableIncrementalSimulation(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.simulate(bookingSimulation(), dsl(service("www.my-test.com").get("/api/flights").willReturn(success())));
+
+        verify(hoverflyClient).deleteState();
+    }
+
+    @Test
+    public void shouldReplaceSimulationWhenPairsAreRemovedInIncrementalSimulationMode() {
+        hoverfly = new Hoverfly(localConfigs().enableIncrementalSimulation(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        SimulationSource flights = dsl(service("www.my-test.com").get("/api/flights").willReturn(success()));
+
+        hoverfly.simulate(bookingSimulation(), flights);
+        hoverfly.simulate(bookingSimulation());
+
+        verify(hoverflyClient, times(2)).setSimulation(any(Simulation.class));
+        verify(hoverflyClient, never()).addSimulation(any());
+    }
+
+    @Test
+    public void shouldReplaceSimulationAfterResetInIncrementalSimulationMode() {
+        hoverfly = new Hoverfly(localConfigs().enableIncrementalSimulation(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+
+        hoverfly.simulate(bookingSimulation());
+        hoverfly.reset();
+        hoverfly.simulate(bookingSimulation(), dsl(service("www.my-test.com").get("/api/flights").willReturn(success())));
+
+        verify(hoverflyClient, times(2)).setSimulation(any(Simulation.class));
+        verify(hoverflyClient, never()).addSimulation(any());
+    }
+
+    @Test
+    public void shouldResetModeOfSharedProcessWhenReleasingIt() {
+        hoverfly = new Hoverfly(localConfigs().shareProcess(), SIMULATE);
+        HoverflyClient hoverflyClient = createMockHoverflyClient(hoverfly);
+        StartedProcess startedProcess = mock(StartedProcess.class);
+        Process process = mock(Process.class);
+        when(process.isAlive()).thenReturn(true);
+        when(startedProcess.getProcess()).thenReturn(process);
+        Whitebox.setInternalState(hoverfly, "sharedProcess",
+                HoverflyProcessRegistry.acquire(hoverfly.getHoverflyConfig(), mock(TempFileManager.class), () -> startedProcess));
+
+        try {
+            hoverfly.close();
+        } finally {
+            HoverflyProcessRegistry.stopAll();
+        }
+
+        verify(hoverflyClient).deleteSimulation();
+        verify(hoverflyClient).setMode(SIMULATE);
+    }
+
+    private static SimulationSource bookingSimulation() {
+        return dsl(service("www.my-test.com").get("/api/bookings/1").willReturn(success("{\"bookingId\":\"1\"}", "application/json")));
+    }
+
+    private static Set<RequestResponsePair> readPairs(SimulationSource simulationSource) {
+        return HoverflyUtils.readSimulationFromString(simulationSource.getSimulation()).getHoverflyData().getPairs();
+    }
+
     private HoverflyClient createMockHoverflyClient(Hoverfly hoverfly) {
         HoverflyClient hoverflyClient = mock(HoverflyClient.class);
         HoverflyInfoView mockHoverflyInfoView = mock(HoverflyInfoView.class);
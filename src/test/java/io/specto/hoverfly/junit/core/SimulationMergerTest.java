@@ -0,0 +1,75 @@
+package io.specto.hoverfly.junit.core;
+
+import static io.specto.hoverfly.junit.core.SimulationSource.classpath;
+import static io.specto.hoverfly.junit.core.SimulationSource.dsl;
+import static io.specto.hoverfly.junit.dsl.HoverflyDsl.service;
+import static io.specto.hoverfly.junit.dsl.ResponseCreators.success;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.specto.hoverfly.junit.core.model.RequestResponsePair;
+import io.specto.hoverfly.junit.core.model.Simulation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class SimulationMergerTest {
+
+    private final SimulationSource bookings = dsl(service("www.my-test.com").get("/api/bookings/1").willReturn(success()));
+    private final SimulationSource flights = dsl(service("www.my-test.com").get("/api/flights").willReturn(success())
+            .andDelay(3, TimeUnit.SECONDS).forAll());
+
+    @Test
+    public void shouldMergePairsAndDelaysInOrderWithoutDuplicates() {
+        List<String> simulations = SimulationMerger.readAll(Arrays.asList(bookings, flights, bookings));
+
+        Simulation merged = SimulationMerger.merge(simulations, false);
+
+        assertThat(merged.getHoverflyData().getPairs())
+                .extracting(pair -> pair.getRequest().getPath().get(0).getValue())
+                .containsExactly("/api/bookings/1", "/api/flights");
+        assertThat(merged.getHoverflyData().getGlobalActions().getDelays()).hasSize(1);
+        assertThat(merged.getHoverflyMetaData().getSchemaVersion()).isEqualTo(
+                HoverflyUtils.readSimulationFromString(bookings.getSimulation()).getHoverflyMetaData().getSchemaVersion());
+    }
+
+    @Test
+    public void shouldMergeManySourcesInOrder() {
+        List<SimulationSource> sources = IntStream.range(0, 50)
+                .mapToObj(i -> dsl(service("service-" + i + ".com").get("/api").willReturn(success())))
+                .collect(Collectors.toList());
+
+        Simulation merged = SimulationMerger.merge(SimulationMerger.readAll(sources), false);
+
+        assertThat(merged.getHoverflyData().getPairs())
+                .extracting(pair -> pair.getRequest().getDestination().get(0).getValue())
+                .containsExactlyElementsOf(IntStream.range(0, 50).mapToObj(i -> "service-" + i + ".com").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldReadClasspathSourcesOnParserThreads() {
+        List<String> simulations = SimulationMerger.readAll(Arrays.asList(classpath("test-service.json"), classpath("test-service-https.json")));
+
+        Simulation merged = SimulationMerger.merge(simulations, false);
+
+        assertThat(merged.getHoverflyData().getPairs()).hasSize(
+                HoverflyUtils.readSimulationFromString(simulations.get(0)).getHoverflyData().getPairs().size()
+                        + HoverflyUtils.readSimulationFromString(simulations.get(1)).getHoverflyData().getPairs().size());
+    }
+
+    @Test
+    public void shouldOnlyAllowChangesToMutablePairs() {
+        List<String> simulations = SimulationMerger.readAll(Arrays.asList(bookings, flights));
+        RequestResponsePair pair = HoverflyUtils.readSimulationFromString(bookings.getSimulation()).getHoverflyData().getPairs().iterator().next();
+
+        Simulation mutable = SimulationMerger.merge(simulations, true);
+        mutable.getHoverflyData().getPairs().remove(pair);
+
+        assertThat(mutable.getHoverflyData().getPairs()).hasSize(1);
+        assertThatThrownBy(() -> SimulationMerger.merge(simulations, false).getHoverflyData().getPairs().remove(pair))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -1,19 +1,36 @@
 package io.specto.hoverfly.junit.core;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Resources;
 import io.specto.hoverfly.junit.core.model.*;
 import io.specto.hoverfly.webserver.ImportTestWebServer;
 import org.json.JSONException;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.skyscreamer.jsonassert.JSONAssert;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static io.specto.hoverfly.assertions.Assertions.assertThat;
 import static io.specto.hoverfly.junit.dsl.HoverflyDsl.service;
@@ -30,6 +47,9 @@ public class SimulationSourceTest {
     private static URL url;
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @BeforeClass
     public static void setUp() {
         url = ImportTestWebServer.run();
@@ -181,4 +201,185 @@ public class SimulationSourceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Cannot load file resource: 'foo'");
     }
+
+    @Test
+    public void shouldStreamSimulationFromClasspath() throws IOException {
+
+        // Given
+        SimulationSource source = SimulationSource.classpath("test-service.json");
+
+        // When
+        String actual;
+        try (InputStream is = ((StreamingSimulationSource) source).openStream()) {
+            actual = new String(ByteStreams.toByteArray(is), UTF_8);
+        }
+
+        // Then
+        assertThat(actual).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenStreamingMissingFile() {
+
+        // When
+        Throwable throwable = catchThrowable(() -> ((StreamingSimulationSource) SimulationSource.file(Paths.get("foo"))).openStream());
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cannot load file resource: 'foo'");
+    }
+
+    @Test
+    public void shouldMergeSimulationFilesInDirectory() throws Exception {
+
+        // Given
+        Path directory = temporaryFolder.getRoot().toPath();
+        writeSimulation(directory.resolve("flights.json"), "/api/flights");
+        writeSimulation(directory.resolve("bookings.json"), "/api/bookings");
+        Files.createDirectories(directory.resolve("payments"));
+        writeSimulation(directory.resolve("payments/payments.json"), "/api/payments");
+        Files.write(directory.resolve("README.txt"), "Not a simulation".getBytes(UTF_8));
+
+        // When
+        Simulation topLevel = objectMapper.readValue(SimulationSource.directory(directory, "*.json").getSimulation(), Simulation.class);
+        Simulation all = objectMapper.readValue(SimulationSource.directory(directory, "**.json").getSimulation(), Simulation.class);
+
+        // Then
+        assertThat(topLevel.getHoverflyData().getPairs())
+                .extracting(pair -> pair.getRequest().getPath().get(0).getValue())
+                .containsExactly("/api/bookings", "/api/flights");
+        assertThat(all.getHoverflyData().getPairs())
+                .extracting(pair -> pair.getRequest().getPath().get(0).getValue())
+                .containsExactly("/api/bookings", "/api/flights", "/api/payments");
+    }
+
+    @Test
+    public void shouldLoadDirectoryAgainOnlyWhenFilesChange() throws Exception {
+
+        // Given
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path flights = directory.resolve("flights.json");
+        writeSimulation(flights, "/api/flights");
+        SimulationSource source = SimulationSource.directory(directory, "*.json");
+        String loaded = source.getSimulation();
+
+        // When
+        String unchanged = source.getSimulation();
+        writeSimulation(flights, "/api/flights/1");
+        Files.setLastModifiedTime(flights, FileTime.fromMillis(Files.getLastModifiedTime(flights).toMillis() + 2000));
+        String changed = source.getSimulation();
+
+        // Then
+        assertThat(unchanged).isSameAs(loaded);
+        assertThat(changed).contains("/api/flights/1");
+    }
+
+    @Test
+    public void shouldMergeSimulationFilesInClasspathDirectory() throws Exception {
+
+        // When
+        String actual = SimulationSource.classpathDirectory("simulations", "v5-simulation.json").getSimulation();
+
+        // Then
+        Simulation expected = objectMapper.readValue(SimulationSource.classpath("simulations/v5-simulation.json").getSimulation(), Simulation.class);
+        assertThat(objectMapper.readValue(actual, Simulation.class).getHoverflyData().getPairs())
+                .containsExactlyElementsOf(expected.getHoverflyData().getPairs());
+    }
+
+    @Test
+    public void shouldMergeSimulationFilesInClasspathDirectoryOfJar() throws Exception {
+
+        // Given
+        Path jar = createSimulationJar("simulations.jar");
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        // When
+        String actual;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, contextClassLoader)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            actual = SimulationSource.classpathDirectory("jar-simulations", "*.json").getSimulation();
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+
+        // Then
+        assertThat(objectMapper.readValue(actual, Simulation.class).getHoverflyData().getPairs())
+                .extracting(pair -> pair.getRequest().getPath().get(0).getValue())
+                .containsExactly("/api/bookings", "/api/flights");
+    }
+
+    @Test
+    public void shouldMergeSimulationFilesInClasspathDirectoryOfJarFromManyThreads() throws Exception {
+
+        // Given
+        Path jar = createSimulationJar("concurrent-simulations.jar");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, Thread.currentThread().getContextClassLoader())) {
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> {
+                    Thread.currentThread().setContextClassLoader(classLoader);
+                    return SimulationSource.classpathDirectory("jar-simulations", "*.json").getSimulation();
+                }));
+            }
+            for (Future<String> result : results) {
+
+                // Then
+                assertThat(objectMapper.readValue(result.get(10, TimeUnit.SECONDS), Simulation.class).getHoverflyData().getPairs())
+                        .extracting(pair -> pair.getRequest().getPath().get(0).getValue())
+                        .containsExactly("/api/bookings", "/api/flights");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDirectoryHasNoSimulationFiles() {
+
+        // When
+        Throwable throwable = catchThrowable(() -> SimulationSource.directory(temporaryFolder.getRoot().toPath(), "*.json").getSimulation());
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No simulation files matching '*.json'");
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenClasspathDirectoryIsMissing() {
+
+        // When
+        Throwable throwable = catchThrowable(() -> SimulationSource.classpathDirectory("foo", "*.json").getSimulation());
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cannot load classpath directory: 'foo'");
+    }
+
+    private static void writeSimulation(Path file, String path) throws IOException {
+        Files.write(file, simulationWithPath(path).getBytes(UTF_8));
+    }
+
+    private Path createSimulationJar(String name) throws IOException {
+        Path jar = temporaryFolder.newFile(name).toPath();
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("jar-simulations/"));
+            out.closeEntry();
+            for (String path : Arrays.asList("/api/flights", "/api/bookings")) {
+                out.putNextEntry(new ZipEntry("jar-simulations" + path.replace("/api", "") + ".json"));
+                out.write(simulationWithPath(path).getBytes(UTF_8));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String simulationWithPath(String path) {
+        return SimulationSource.dsl(service("www.my-test.com").get(path).willReturn(success())).getSimulation();
+    }
 }
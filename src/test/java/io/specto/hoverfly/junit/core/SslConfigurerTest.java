@@ -0,0 +1,63 @@
+package io.specto.hoverfly.junit.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import org.junit.After;
+import org.junit.Test;
+
+public class SslConfigurerTest {
+
+    private final SslConfigurer sslConfigurer = new SslConfigurer();
+
+    @After
+    public void tearDown() {
+        sslConfigurer.reset();
+    }
+
+    @Test
+    public void shouldShareSslContextBetweenInstancesUsingSameCertificate() {
+        SslConfigurer anotherSslConfigurer = new SslConfigurer();
+
+        sslConfigurer.prepareDefaultSslContext();
+        anotherSslConfigurer.prepareDefaultSslContext();
+
+        assertThat(anotherSslConfigurer.getSslContext()).isSameAs(sslConfigurer.getSslContext());
+        assertThat(anotherSslConfigurer.getTrustManager()).isSameAs(sslConfigurer.getTrustManager());
+    }
+
+    @Test
+    public void shouldNotShareSslContextBetweenDifferentCertificates() {
+        SslConfigurer anotherSslConfigurer = new SslConfigurer();
+
+        sslConfigurer.prepareDefaultSslContext();
+        anotherSslConfigurer.prepareDefaultSslContext("ssl/ca.crt");
+
+        assertThat(anotherSslConfigurer.getSslContext()).isNotSameAs(sslConfigurer.getSslContext());
+    }
+
+    @Test
+    public void shouldTrustHoverflyCertificate() throws Exception {
+        sslConfigurer.prepareDefaultSslContext("ssl/ca.crt");
+
+        X509Certificate certificate = loadCertificate("ssl/ca.crt");
+
+        sslConfigurer.getTrustManager().checkServerTrusted(new X509Certificate[]{certificate}, "RSA");
+        assertThat(sslConfigurer.getTrustManager().getAcceptedIssuers()).isNotEmpty();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfCertificateCannotBeLoaded() {
+        assertThatThrownBy(() -> sslConfigurer.prepareDefaultSslContext("ssl/client-ca.crt.missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static X509Certificate loadCertificate(String resourcePath) throws Exception {
+        try (InputStream inputStream = HoverflyUtils.getClasspathResourceAsStream(resourcePath)) {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(inputStream);
+        }
+    }
+}
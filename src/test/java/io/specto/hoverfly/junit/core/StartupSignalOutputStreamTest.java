@@ -0,0 +1,66 @@
+package io.specto.hoverfly.junit.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class StartupSignalOutputStreamTest {
+
+    private final ByteArrayOutputStream delegate = new ByteArrayOutputStream();
+    private final StartupSignalOutputStream outputStream = new StartupSignalOutputStream(delegate);
+
+    @Test
+    public void shouldSignalWhenAdminInterfaceIsStarting() throws Exception {
+        write("{\"level\":\"info\",\"msg\":\"Using memory backend\",\"time\":\"2019-01-01T00:00:00Z\"}\n");
+        assertThat(outputStream.isStarted()).isFalse();
+
+        write("{\"AdminPort\":\"8888\",\"level\":\"info\",\"msg\":\"Admin interface is starting...\",\"time\":\"2019-01-01T00:00:00Z\"}\n");
+
+        assertThat(outputStream.awaitStarted(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(outputStream.getFailure()).isEmpty();
+    }
+
+    @Test
+    public void shouldSignalWhenAdminInterfaceIsStartingInTextLogs() throws Exception {
+        write("time=\"2019-01-01T00:00:00Z\" level=info msg=\"Admin interface is starting...\" AdminPort=8888\n");
+
+        assertThat(outputStream.awaitStarted(0, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldSignalFailureWhenPortIsInUse() throws Exception {
+        write("{\"error\":\"listen tcp :8500: bind: address already in use\",\"level\":\"fatal\",\"msg\":\"Failed to start proxy\"}\n");
+
+        assertThat(outputStream.awaitStarted(0, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(outputStream.getFailure()).hasValueSatisfying(failure -> assertThat(failure).contains("address already in use"));
+        assertThat(outputStream.isPortInUse()).isTrue();
+    }
+
+    @Test
+    public void shouldNotSignalUntilLineIsComplete() throws Exception {
+        write("{\"msg\":\"Admin interface is starting...\"");
+
+        assertThat(outputStream.awaitStarted(10, TimeUnit.MILLISECONDS)).isFalse();
+
+        write("}\n");
+        assertThat(outputStream.awaitStarted(0, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldPassOutputThroughToDelegate() throws Exception {
+        String output = "first line\nAdmin interface is starting...\nlast line\n";
+
+        write(output);
+        outputStream.write('!');
+
+        assertThat(delegate.toString("UTF-8")).isEqualTo(output + "!");
+    }
+
+    private void write(String text) throws Exception {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        outputStream.write(bytes, 0, bytes.length);
+    }
+}
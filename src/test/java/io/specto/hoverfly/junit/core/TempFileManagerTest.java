@@ -11,23 +11,28 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TempFileManagerTest {
 
+    @Rule
+    public final TemporaryFolder binaryCacheFolder = new TemporaryFolder();
+
     private TempFileManager tempFileManager;
     private String systemTempDir = System.getProperty("java.io.tmpdir");
 
     @Before
     public void setUp() {
-        tempFileManager = new TempFileManager();
+        tempFileManager = new TempFileManager(binaryCacheFolder.getRoot().toPath());
     }
 
     @Test
     public void shouldLazilyInitializedTempDirectory() {
         assertThat(tempFileManager.getTempDirectory()).isNull();
 
-        tempFileManager.copyHoverflyBinary(new SystemConfigFactory().createSystemConfig());
+        tempFileManager.copyClassPathResource("ssl/ca.crt", "ca.crt");
 
         Path tempDir = tempFileManager.getTempDirectory();
         assertThat(Files.isDirectory(tempDir)).isTrue();
@@ -62,9 +67,41 @@ public class TempFileManagerTest {
     }
 
     @Test
-    public void shouldCopyHoverflyBinary() throws Exception {
+    public void shouldCopyHoverflyBinaryToCacheDirectory() throws Exception {
+
+        // Given
+        SystemConfig systemConfig = new SystemConfigFactory().createSystemConfig();
+        URL sourceFileUrl = Resources.getResource("binaries/" + systemConfig.getHoverflyBinaryName());
+        Path sourceFile = Paths.get(sourceFileUrl.toURI());
+
+        // When
+        Path targetFile = tempFileManager.copyHoverflyBinary(systemConfig);
+
+        // Then
+        assertThat(Files.exists(targetFile)).isTrue();
+        assertThat(Files.isRegularFile(targetFile)).isTrue();
+        assertThat(Files.isReadable(targetFile)).isTrue();
+        assertThat(Files.isExecutable(targetFile)).isTrue();
+        assertThat(targetFile.startsWith(binaryCacheFolder.getRoot().toPath())).isTrue();
+        assertThat(tempFileManager.getTempDirectory()).isNull();
+        assertThat(new FileInputStream(targetFile.toFile())).hasSameContentAs(new FileInputStream(sourceFile.toFile()));
+    }
+
+    @Test
+    public void shouldReuseCachedHoverflyBinary() {
+        SystemConfig systemConfig = new SystemConfigFactory().createSystemConfig();
+
+        Path binary = tempFileManager.copyHoverflyBinary(systemConfig);
+        TempFileManager anotherTempFileManager = new TempFileManager(binaryCacheFolder.getRoot().toPath());
+
+        assertThat(anotherTempFileManager.copyHoverflyBinary(systemConfig)).isEqualTo(binary);
+    }
+
+    @Test
+    public void shouldCopyHoverflyBinaryToTempDirectoryIfCacheIsDisabled() throws Exception {
 
         // Given
+        tempFileManager = new TempFileManager(null);
         SystemConfig systemConfig = new SystemConfigFactory().createSystemConfig();
         URL sourceFileUrl = Resources.getResource("binaries/" + systemConfig.getHoverflyBinaryName());
         Path sourceFile = Paths.get(sourceFileUrl.toURI());
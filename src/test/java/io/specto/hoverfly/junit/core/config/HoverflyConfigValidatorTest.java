@@ -1,6 +1,9 @@
 package io.specto.hoverfly.junit.core.config;
 
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -39,6 +42,33 @@ public class HoverflyConfigValidatorTest {
         assertThat(validated.getAdminPort()).isNotZero();
     }
 
+    @Test
+    public void shouldNotAssignSamePortTwiceToLocalHoverflyInstances() {
+
+        Set<Integer> ports = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            HoverflyConfiguration validated = localConfigs().build();
+            ports.add(validated.getProxyPort());
+            ports.add(validated.getAdminPort());
+        }
+
+        assertThat(ports).hasSize(100);
+    }
+
+    @Test
+    public void shouldOnlyReassignPortsThatWereNotConfigured() {
+
+        HoverflyConfiguration validated = localConfigs().proxyPort(8600).build();
+        int adminPort = validated.getAdminPort();
+
+        validated.reassignDynamicPorts();
+
+        assertThat(validated.isDynamicProxyPort()).isFalse();
+        assertThat(validated.getProxyPort()).isEqualTo(8600);
+        assertThat(validated.isDynamicAdminPort()).isTrue();
+        assertThat(validated.getAdminPort()).isNotZero().isNotEqualTo(adminPort);
+    }
+
     @Test
     public void shouldThrowExceptionIfOnlySslKeyIsConfigured() {
 
@@ -115,4 +145,21 @@ public class HoverflyConfigValidatorTest {
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Resource not found with name: some-cert.pem");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldUseDefaultIdleTimeoutForDaemon() {
+
+        HoverflyConfiguration validated = localConfigs().asDaemon().build();
+
+        assertThat(validated.isDaemon()).isTrue();
+        assertThat(validated.getDaemonIdleTimeout()).contains(Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDaemonIsCombinedWithSharedProcess() {
+
+        assertThatThrownBy(() -> localConfigs().asDaemon().shareProcess().build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hoverfly daemon mode cannot be combined with a shared process.");
+    }
+}
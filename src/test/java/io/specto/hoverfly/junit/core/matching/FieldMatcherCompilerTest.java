@@ -0,0 +1,109 @@
+package io.specto.hoverfly.junit.core.matching;
+
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.GLOB;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.REGEX;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.XML;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.MatcherType.XPATH;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newExactMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newGlobMatcher;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.specto.hoverfly.junit.core.ObjectMapperFactory;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class FieldMatcherCompilerTest {
+
+    @Test
+    public void shouldCacheCompiledMatchersByValue() {
+        CompiledFieldMatcher first = FieldMatcherCompiler.compile(REGEX, "/api/bookings/\\d+").get();
+        CompiledFieldMatcher second = FieldMatcherCompiler.compile(REGEX, "/api/bookings/\\d+").get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(FieldMatcherCompiler.compile(GLOB, "/api/bookings/\\d+").get()).isNotSameAs(first);
+    }
+
+    @Test
+    public void shouldMatchRegexLikeHoverfly() {
+        CompiledFieldMatcher compiled = FieldMatcherCompiler.compile(REGEX, "bookings/[0-9a-f]+(?:/seats)?.").get();
+
+        assertThat(compiled.matches("/api/bookings/1f/seats/")).isTrue();
+        assertThat(compiled.matches("/api/bookings/1\r")).isTrue();
+        assertThat(compiled.matches("/api/bookings/1\n")).isFalse();
+    }
+
+    @Test
+    public void shouldLeaveRegexWhichJavaReadsDifferentlyToHoverfly() {
+        assertThat(FieldMatcherCompiler.compile(REGEX, "^/api/bookings/\\d+$")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/bookings\\Z")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/(?!flights)")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/bookings/\\d++")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/\\p{L}+")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "(?i)/api/bookings")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/[[:alpha:]]+")).isEmpty();
+        assertThat(FieldMatcherCompiler.compile(REGEX, "/api/[a-z&&[^b]]+")).isEmpty();
+    }
+
+    @Test
+    public void shouldCacheCompiledMatcherOnTheInstanceUntilItChanges() {
+        RequestFieldMatcher<String> matcher = newGlobMatcher("*.hoverfly.io");
+        CompiledFieldMatcher compiled = matcher.compile().get();
+
+        assertThat(matcher.compile().get()).isSameAs(compiled);
+        assertThat(compiled.matches("api.hoverfly.io")).isTrue();
+
+        matcher.setValue("*.specto.io");
+
+        assertThat(matcher.compile().get().matches("api.hoverfly.io")).isFalse();
+        assertThat(matcher.compile().get().matches("api.specto.io")).isTrue();
+    }
+
+    @Test
+    public void shouldNotCompileMatchersWithoutStringValue() {
+        assertThat(FieldMatcherCompiler.compile(null, "value")).isEmpty();
+        assertThat(new RequestFieldMatcher<>(GLOB, 1).compile()).isEmpty();
+    }
+
+    @Test
+    public void shouldMatchXmlRegardlessOfAttributeOrderAndWhitespace() {
+        CompiledFieldMatcher compiled = FieldMatcherCompiler.compile(XML, "<booking id=\"1\" class=\"business\"><seat>A1</seat></booking>").get();
+
+        assertThat(compiled.matches("<booking class=\"business\" id=\"1\">\n    <seat>A1</seat>\n</booking>")).isTrue();
+        assertThat(compiled.matches("<booking class=\"first\" id=\"1\"><seat>A1</seat></booking>")).isFalse();
+        assertThat(compiled.matches("<booking")).isFalse();
+    }
+
+    @Test
+    public void shouldEvaluateXpathFromMultipleThreads() throws Exception {
+        CompiledFieldMatcher compiled = FieldMatcherCompiler.compile(XPATH, "/booking/seat[text()='A1']").get();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Boolean>> results = IntStream.range(0, 100)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> compiled.matches("<booking><seat>" + (i % 2 == 0 ? "A1" : "B2") + "</seat></booking>") == (i % 2 == 0),
+                            executor))
+                    .collect(Collectors.toList());
+
+            assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotSerializeCompiledMatcher() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.getDefaultObjectMapper();
+        RequestFieldMatcher<String> matcher = newExactMatcher("/api/bookings");
+        matcher.compile();
+
+        assertThat(objectMapper.writeValueAsString(matcher)).isEqualTo("{\"matcher\":\"exact\",\"value\":\"/api/bookings\"}");
+        assertThat(matcher).isEqualTo(newExactMatcher("/api/bookings"));
+    }
+}
@@ -12,9 +12,13 @@ import org.junit.Test;
 
 import java.net.URL;
 import java.util.Collections;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class HoverflyVerificationsTest {
 
@@ -123,4 +127,32 @@ public class HoverflyVerificationsTest {
                 .hasMessageContaining("Expected at most 2 requests")
                 .hasMessageContaining("But actual number of requests is 3");
     }
+
+    @Test
+    public void shouldVerifyByNumberOfRequestsWithoutFetchingJournal() {
+        Supplier<Journal> journalLoader = mockJournalLoader();
+        VerificationData data = new VerificationData(2, journalLoader);
+
+        HoverflyVerifications.times(2).verify(request, data);
+        HoverflyVerifications.atLeast(1).verify(request, data);
+
+        verify(journalLoader, never()).get();
+    }
+
+    @Test
+    public void shouldFetchJournalWhenVerifyByNumberOfRequestsFailed() {
+        Supplier<Journal> journalLoader = mockJournalLoader();
+        when(journalLoader.get()).thenReturn(new Journal(Lists.newArrayList(journalEntry), 0, 25, 1));
+        VerificationData data = new VerificationData(1, journalLoader);
+
+        assertThatThrownBy(() -> HoverflyVerifications.never().verify(request, data))
+                .isInstanceOf(HoverflyVerificationError.class)
+                .hasMessageContaining("But actual number of requests is 1");
+        verify(journalLoader).get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Journal> mockJournalLoader() {
+        return mock(Supplier.class);
+    }
 }
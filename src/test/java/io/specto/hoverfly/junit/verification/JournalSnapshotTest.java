@@ -0,0 +1,116 @@
+package io.specto.hoverfly.junit.verification;
+
+import static io.specto.hoverfly.junit.dsl.HoverflyDsl.service;
+import static io.specto.hoverfly.junit.dsl.matchers.HoverflyMatchers.matches;
+import static io.specto.hoverfly.junit.verification.HoverflyVerifications.atLeastOnce;
+import static io.specto.hoverfly.junit.verification.HoverflyVerifications.never;
+import static io.specto.hoverfly.junit.verification.HoverflyVerifications.times;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.specto.hoverfly.junit.core.model.Journal;
+import io.specto.hoverfly.junit.core.model.JournalEntry;
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
+import io.specto.hoverfly.junit.dsl.RequestMatcherBuilder;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournalSnapshotTest {
+
+    private final JournalEntry firstBooking = journalEntry("GET", "hoverfly.io", "/api/bookings/1");
+    private final JournalEntry newBooking = journalEntry("POST", "hoverfly.io", "/api/bookings");
+    private final JournalEntry secondBooking = journalEntry("GET", "hoverfly.io", "/api/bookings/1");
+    private final JournalEntry otherService = journalEntry("GET", "specto.io", "/api/bookings/1");
+    private final JournalEntry flights = journalEntry("GET", "hoverfly.io", "/api/flights");
+
+    private Function<Request, Journal> journalSearch;
+    private JournalSnapshot snapshot;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        journalSearch = mock(Function.class);
+        snapshot = new JournalSnapshot(Arrays.asList(firstBooking, newBooking, secondBooking, otherService, flights), journalSearch);
+    }
+
+    @Test
+    public void shouldVerifyAgainstSnapshotWithoutSearchingHoverfly() {
+        snapshot.verify(service("hoverfly.io").get("/api/bookings/1"), times(2));
+        snapshot.verify(service("hoverfly.io").post("/api/bookings"));
+        snapshot.verify(service("hoverfly.io").delete("/api/bookings/1"), never());
+
+        verifyNoInteractions(journalSearch);
+    }
+
+    @Test
+    public void shouldSearchByPathPrefixInRecordedOrder() {
+        Request request = service("hoverfly.io").anyMethod(matches("/api/book*")).build();
+
+        assertThat(snapshot.search(request)).containsExactly(firstBooking, newBooking, secondBooking);
+    }
+
+    @Test
+    public void shouldSearchWithoutIndexedFields() {
+        Request request = service(matches("*.io")).get(matches("*/1")).build();
+
+        assertThat(snapshot.search(request)).containsExactly(firstBooking, secondBooking, otherService);
+    }
+
+    @Test
+    public void shouldReportMatchingEntriesWhenVerificationFails() {
+        assertThatThrownBy(() -> snapshot.verify(service("specto.io").get("/api/bookings/1"), never()))
+                .isInstanceOf(HoverflyVerificationError.class)
+                .hasMessageContaining("But actual number of requests is 1")
+                .hasMessageContaining("http://specto.io/api/bookings/1");
+    }
+
+    @Test
+    public void shouldSearchHoverflyForRequestsWhichRequireState() {
+        when(journalSearch.apply(any())).thenReturn(new Journal(Collections.singletonList(flights), 0, 25, 1));
+
+        snapshot.verify(service("hoverfly.io").get("/api/flights").withState("logged-in", "true"));
+
+        verify(journalSearch).apply(any());
+    }
+
+    @Test
+    public void shouldVerifyAllAndReportEveryFailure() {
+        Map<RequestMatcherBuilder, VerificationCriteria> verifications = new LinkedHashMap<>();
+        verifications.put(service("hoverfly.io").get("/api/bookings/1"), times(2));
+        verifications.put(service("hoverfly.io").get("/api/flights"), times(3));
+        verifications.put(service("specto.io").get("/api/bookings/1"), never());
+        verifications.put(service("hoverfly.io").post("/api/bookings"), atLeastOnce());
+
+        assertThatThrownBy(() -> snapshot.verifyAll(verifications))
+                .isInstanceOf(HoverflyVerificationError.class)
+                .hasMessageStartingWith("2 of 4 verifications failed:")
+                .hasMessageContaining("Expected 3 requests")
+                .hasMessageContaining("Not expected any request");
+    }
+
+    @Test
+    public void shouldVerifyAllWhenEveryVerificationPasses() {
+        Map<RequestMatcherBuilder, VerificationCriteria> verifications = new LinkedHashMap<>();
+        verifications.put(service("hoverfly.io").get("/api/bookings/1"), times(2));
+        verifications.put(service("hoverfly.io").get("/api/flights"), atLeastOnce());
+
+        snapshot.verifyAll(verifications);
+    }
+
+    private static JournalEntry journalEntry(String method, String destination, String path) {
+        RequestDetails request = new RequestDetails("http", destination, path, "", "", method, Collections.emptyMap());
+        return new JournalEntry(request, null, "simulate", ZonedDateTime.now(), 1.0);
+    }
+}
@@ -0,0 +1,114 @@
+package io.specto.hoverfly.junit.verification;
+
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newExactMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newGlobMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newJsonMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newJsonPartialMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newJsonPathMatch;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newRegexMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newXmlMatcher;
+import static io.specto.hoverfly.junit.core.model.RequestFieldMatcher.newXpathMatcher;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.specto.hoverfly.junit.core.model.Request;
+import io.specto.hoverfly.junit.core.model.RequestDetails;
+import io.specto.hoverfly.junit.core.model.RequestFieldMatcher;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class LocalRequestMatcherTest {
+
+    @Test
+    public void shouldMatchExactGlobAndRegexFields() {
+        LocalRequestMatcher matcher = LocalRequestMatcher.of(new Request.Builder()
+                .method(singletonList(newExactMatcher("GET")))
+                .destination(singletonList(newGlobMatcher("*.hoverfly.io")))
+                .path(singletonList(newRegexMatcher("bookings/\\d+")))
+                .build()).get();
+
+        assertThat(matcher.matches(request("GET", "api.hoverfly.io", "/api/bookings/1", "", ""))).isTrue();
+        assertThat(matcher.matches(request("POST", "api.hoverfly.io", "/api/bookings/1", "", ""))).isFalse();
+        assertThat(matcher.matches(request("GET", "hoverfly.io", "/api/bookings/1", "", ""))).isFalse();
+        assertThat(matcher.matches(request("GET", "api.hoverfly.io", "/api/bookings", "", ""))).isFalse();
+    }
+
+    @Test
+    public void shouldMatchQueryParamsAndHeaders() {
+        LocalRequestMatcher matcher = LocalRequestMatcher.of(new Request.Builder()
+                .query(singletonMap("class", singletonList(newExactMatcher("business;first"))))
+                .headers(singletonMap("content-type", singletonList(newGlobMatcher("application/json*"))))
+                .build()).get();
+
+        Map<String, List<String>> headers = singletonMap("Content-Type", singletonList("application/json; charset=UTF-8"));
+        assertThat(matcher.matches(request("class=business&class=first&page=1", headers))).isTrue();
+        assertThat(matcher.matches(request("class=business", headers))).isFalse();
+        assertThat(matcher.matches(request("class=business&class=first", Collections.emptyMap()))).isFalse();
+    }
+
+    @Test
+    public void shouldMatchJsonBodies() {
+        assertThat(matchesBody(newJsonMatcher("{\"id\": 1, \"tags\": [\"a\"]}"), "{\"tags\":[\"a\"],\"id\":1.0}")).isTrue();
+        assertThat(matchesBody(newJsonMatcher("{\"id\": 1}"), "{\"id\":1,\"name\":\"x\"}")).isFalse();
+        assertThat(matchesBody(newJsonPartialMatcher("{\"id\": 1, \"items\": [{\"sku\": \"a\"}]}"),
+                "{\"id\":1,\"name\":\"x\",\"items\":[{\"sku\":\"b\"},{\"sku\":\"a\",\"qty\":2}]}")).isTrue();
+        assertThat(matchesBody(newJsonPartialMatcher("{\"id\": 2}"), "{\"id\":1,\"name\":\"x\"}")).isFalse();
+        assertThat(matchesBody(newJsonPathMatch("$.items[1].sku"), "{\"items\":[{\"sku\":\"b\"},{\"sku\":\"a\"}]}")).isTrue();
+        assertThat(matchesBody(newJsonPathMatch("$['items'][2]"), "{\"items\":[{\"sku\":\"b\"},{\"sku\":\"a\"}]}")).isFalse();
+        assertThat(matchesBody(newJsonMatcher("{\"id\": 1}"), "not json")).isFalse();
+    }
+
+    @Test
+    public void shouldMatchXmlBodies() {
+        assertThat(matchesBody(newXmlMatcher("<booking id=\"1\"><seat>A1</seat></booking>"),
+                "<booking id=\"1\">\n  <seat>A1</seat>\n</booking>")).isTrue();
+        assertThat(matchesBody(newXmlMatcher("<booking id=\"1\"><seat>A1</seat></booking>"),
+                "<booking id=\"1\"><seat>B2</seat></booking>")).isFalse();
+        assertThat(matchesBody(newXpathMatcher("/booking/seat[text()='A1']"), "<booking><seat>A1</seat></booking>")).isTrue();
+        assertThat(matchesBody(newXpathMatcher("/booking/flight"), "<booking><seat>A1</seat></booking>")).isFalse();
+    }
+
+    @Test
+    public void shouldCountMatchingRequests() {
+        LocalRequestMatcher matcher = LocalRequestMatcher.of(new Request.Builder()
+                .method(singletonList(newExactMatcher("GET")))
+                .build()).get();
+
+        int count = matcher.count(Arrays.asList(
+                request("GET", "hoverfly.io", "/", "", ""),
+                request("PUT", "hoverfly.io", "/", "", ""),
+                request("GET", "specto.io", "/", "", "")));
+
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotEvaluateRequestsWhichRequireStateOrCannotBeCompiled() {
+        assertThat(LocalRequestMatcher.of(new Request.Builder()
+                .requiresState(singletonMap("page", "2"))
+                .build())).isEmpty();
+        assertThat(LocalRequestMatcher.of(new Request.Builder()
+                .body(singletonList(newJsonPathMatch("$.items[?(@.sku == 'a')]")))
+                .build())).isEmpty();
+        assertThat(LocalRequestMatcher.of(new Request.Builder()
+                .path(singletonList(newRegexMatcher("(?P<id>\\d+)")))
+                .build())).isEmpty();
+    }
+
+    private static boolean matchesBody(RequestFieldMatcher bodyMatcher, String body) {
+        return LocalRequestMatcher.of(new Request.Builder().body(singletonList(bodyMatcher)).build()).get()
+                .matches(request("POST", "hoverfly.io", "/", "", body));
+    }
+
+    private static RequestDetails request(String method, String destination, String path, String query, String body) {
+        return new RequestDetails("http", destination, path, query, body, method, Collections.emptyMap());
+    }
+
+    private static RequestDetails request(String query, Map<String, List<String>> headers) {
+        return new RequestDetails("http", "hoverfly.io", "/", query, "", "GET", headers);
+    }
+}
@@ -16,6 +16,7 @@ import io.specto.hoverfly.junit.core.*;
 import io.specto.hoverfly.junit.core.model.Simulation;
 import io.specto.hoverfly.junit.dsl.RequestMatcherBuilder;
 import io.specto.hoverfly.junit.dsl.StubServiceBuilder;
+import io.specto.hoverfly.junit.verification.JournalSnapshot;
 import io.specto.hoverfly.junit.verification.VerificationCriteria;
 import org.apache.commons.lang3.StringUtils;
 
@@ -389,6 +390,25 @@ public class HoverflyTestNG {
         hoverfly.verifyAll();
     }
 
+    /**
+     * Verifies many request matchers against the journal, which is fetched once. Every verification is run, and all the
+     * failures are reported together.
+     *
+     * @param verifications the criteria of each request matcher, which are verified in the iteration order of the map
+     * @throws io.specto.hoverfly.junit.verification.HoverflyVerificationError if any of the verifications fails
+     */
+    public void verifyAll(Map<RequestMatcherBuilder, VerificationCriteria> verifications) {
+        hoverfly.verifyAll(verifications);
+    }
+
+    /**
+     * Loads the journal once into an indexed snapshot, to run many verifications without going back to Hoverfly
+     * @return the snapshot of the journal
+     */
+    public JournalSnapshot snapshotJournal() {
+        return hoverfly.snapshotJournal();
+    }
+
     public void resetJournal() {
         hoverfly.resetJournal();
     }